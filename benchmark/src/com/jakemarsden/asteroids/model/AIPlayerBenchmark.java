@@ -0,0 +1,45 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the AIPlayer's search for the best Asteroid to aim at, and working out where to aim to hit it.
+ *
+ * @author jakemarsden
+ */
+@State(Scope.Thread)
+public class AIPlayerBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int asteroidCount;
+
+    private GameWorld world;
+
+    private AIPlayer player;
+
+    private final Vector2 aimPoint = new Vector2();
+
+
+    @Setup
+    public void setUp() {
+        world = BenchmarkWorlds.createWorld(asteroidCount, 0, true, GameWorld.DEF_LAYOUT);
+        player = (AIPlayer) world.player;
+    }
+
+
+    @Benchmark
+    public int findTarget() {
+        return player.findTarget(world);
+    }
+
+    @Benchmark
+    public Vector2 computeAimPoint() {
+        player.computeAimPoint(world.asteroids, 0, aimPoint);
+        return aimPoint;
+    }
+}
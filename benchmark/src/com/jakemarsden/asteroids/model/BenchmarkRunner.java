@@ -0,0 +1,38 @@
+package com.jakemarsden.asteroids.model;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every benchmark with JMH's GC profiler attached, so allocation rates are reported alongside timings. The
+ * benchmarks live in their own source folder as JMH isn't something the game itself should depend on. To run them,
+ * compile this folder together with src/ against jmh-core and jmh-generator-annprocess (which generates the benchmark
+ * harness at compile time), then run this class.
+ * <p/>
+ * Usage: BenchmarkRunner [&lt;regex of benchmarks to include&gt;]
+ *
+ * @author jakemarsden
+ */
+public class BenchmarkRunner {
+
+    /*
+     * Every benchmark in the game's packages, including com.jakemarsden.asteroids.render as well as this one.
+     */
+    private static final String DEF_INCLUDE = "com\\.jakemarsden\\.asteroids\\..*Benchmark";
+
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException();
+    }
+
+
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : DEF_INCLUDE)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,110 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.Random;
+
+/**
+ * A static class to build the shapes and worlds used by the benchmarks. Everything is built from a fixed seed, so each
+ * benchmark sees exactly the same input every time it's run.
+ *
+ * @author jakemarsden
+ */
+public class BenchmarkWorlds {
+
+    public static final long SEED = 0x5eed;
+
+    /*
+     * The size of the "screen" the benchmark worlds are played on. This is larger than a real screen so that there's
+     * still room for the Projectiles in between even the largest number of Asteroids.
+     */
+    public static final float WIDTH = 2560, HEIGHT = 1440;
+
+    /*
+     * Nothing is placed within this distance of the centre of the screen, where the Player starts.
+     */
+    private static final float PLAYER_CLEARANCE = 150;
+
+    private static final float PROJECTILE_RADIUS = 8;
+    /*
+     * How many random positions to try for each Projectile before giving up.
+     */
+    private static final int MAX_PLACEMENT_ATTEMPTS = 10000;
+
+    private BenchmarkWorlds() {
+        throw new UnsupportedOperationException();
+    }
+
+
+    /*
+     * Creates a random Polygon with exactly the specified number of vertices, evenly spaced around the centre.
+     * RandomPolygonGenerator can't be used for this, as it decides how many vertices to use by itself.
+     */
+    public static Polygon createPolygon(Random rand, float centreX, float centreY, int vertexCount, float minRadius, float maxRadius) {
+        final float[] vertices = new float[2 * vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            final double angle = 2d * Math.PI * i / vertexCount;
+            final double radius = rand.nextDouble(minRadius, maxRadius);
+            vertices[2 * i] = (float) (radius * Math.cos(angle));
+            vertices[2 * i + 1] = (float) (radius * Math.sin(angle));
+        }
+        return new Polygon(centreX, centreY, vertices);
+    }
+
+    /*
+     * Creates a GameWorld containing the specified number of Asteroids and Projectiles, scattered randomly around the
+     * screen. Nothing in the world moves and no Projectile touches an Asteroid, so updating the world does the same
+     * work every time. Asteroids which the world spawns by itself are not removed, see trimAsteroids().
+     * @param aiControlled Whether the Player should be an AIPlayer.
+     * @param layout How the world should keep its Asteroids and Projectiles in memory.
+     */
+    public static GameWorld createWorld(int asteroidCount, int projectileCount, boolean aiControlled, EntityStore.Layout layout) {
+        final GameWorld world = new GameWorld(new NullAudioController(), SEED, aiControlled, layout);
+        world.onViewCreated(0, 0, WIDTH, HEIGHT);
+        world.asteroids.clear();
+        world.asteroidGrid.clear();
+
+        final Random rand = Random.fromSeed(SEED);
+        final Asteroid.Size[] sizes = Asteroid.Size.values();
+        while (world.asteroids.size() < asteroidCount) {
+            final float x = rand.nextFloat(0, WIDTH), y = rand.nextFloat(0, HEIGHT);
+            if (!nearPlayer(x, y)) {
+                world.onSpawnAsteroid(sizes[rand.nextInt(0, sizes.length)], x, y, 0, 0);
+            }
+        }
+
+        int attempts = 0;
+        while (world.projectiles.size() < projectileCount) {
+            if (++attempts > MAX_PLACEMENT_ATTEMPTS * projectileCount) {
+                throw new IllegalStateException("No room for " + projectileCount + " projectiles between " + asteroidCount + " asteroids");
+            }
+            final float x = rand.nextFloat(0, WIDTH), y = rand.nextFloat(0, HEIGHT);
+            if (!nearPlayer(x, y) && !hitsAsteroid(world, x, y)) {
+                world.onSpawnProjectile(x, y, 0, 0, PROJECTILE_RADIUS);
+            }
+        }
+        return world;
+    }
+
+    /*
+     * Removes any Asteroids spawned by the world since it was created, so that its size stays the same from one update
+     * to the next. Newly-spawned Asteroids are always added to the end of the store.
+     */
+    public static void trimAsteroids(GameWorld world, int asteroidCount) {
+        while (world.asteroids.size() > asteroidCount) {
+            world.asteroids.remove(world.asteroids.size() - 1);
+        }
+    }
+
+
+    private static boolean nearPlayer(float x, float y) {
+        return Math.hypot(x - WIDTH / 2, y - HEIGHT / 2) < PLAYER_CLEARANCE;
+    }
+
+    private static boolean hitsAsteroid(GameWorld world, float x, float y) {
+        for (int i = 0; i < world.asteroids.size(); i++) {
+            if (world.asteroids.overlaps(i, x, y, PROJECTILE_RADIUS, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
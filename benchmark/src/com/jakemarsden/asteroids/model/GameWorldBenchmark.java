@@ -0,0 +1,44 @@
+package com.jakemarsden.asteroids.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks a single, complete update of a GameWorld: handling input, rebuilding the AsteroidGrid, updating every
+ * game object, checking for collisions and publishing a snapshot. The world is frozen (see BenchmarkWorlds) and the
+ * Player is controlled by the user, who never touches anything, so every update does the same amount of work. Both
+ * ways of keeping the Asteroids and Projectiles in memory are covered (see EntityStore.Layout).
+ *
+ * @author jakemarsden
+ */
+@State(Scope.Thread)
+public class GameWorldBenchmark {
+
+    @Param({"ARRAYS", "OBJECTS"})
+    public EntityStore.Layout layout;
+
+    @Param({"10", "50", "200"})
+    public int asteroidCount;
+
+    @Param({"0", "20", "100"})
+    public int projectileCount;
+
+    private GameWorld world;
+
+
+    @Setup
+    public void setUp() {
+        world = BenchmarkWorlds.createWorld(asteroidCount, projectileCount, false, layout);
+    }
+
+
+    @Benchmark
+    public GameWorld update() {
+        world.onGameUpdate();
+        BenchmarkWorlds.trimAsteroids(world, asteroidCount);
+        return world;
+    }
+}
@@ -0,0 +1,72 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.Random;
+import com.jakemarsden.asteroids.util.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the point, circle and polygon tests of the Polygon class. The two Polygons are placed so that their
+ * boundaries overlap, so the quick rejection never gets to skip the real work.
+ *
+ * @author jakemarsden
+ */
+@State(Scope.Thread)
+public class PolygonBenchmark {
+
+    @Param({"8", "16", "32"})
+    public int vertexCount;
+
+    private Polygon polygon;
+
+    private Polygon testPoly;
+    /*
+     * The vertices of testPoly after being rotated, as used by Player.
+     */
+    private float[] rotatedVertices;
+
+    private final Rectangle rotatedBounds = new Rectangle();
+
+    private float pointX, pointY;
+
+
+    @Setup
+    public void setUp() {
+        final Random rand = Random.fromSeed(BenchmarkWorlds.SEED);
+        polygon = BenchmarkWorlds.createPolygon(rand, 100, 100, vertexCount, 60, 90);
+        testPoly = BenchmarkWorlds.createPolygon(rand, 170, 150, vertexCount, 20, 40);
+        rotatedVertices = new float[2 * vertexCount];
+        testPoly.getRotatedVertices(Math.PI / 5d, rotatedVertices, rotatedBounds);
+        pointX = 150;
+        pointY = 130;
+    }
+
+
+    @Benchmark
+    public boolean containsPoint() {
+        return polygon.contains(pointX, pointY, true);
+    }
+
+    @Benchmark
+    public boolean containsPolygon() {
+        return polygon.contains(testPoly, true);
+    }
+
+    @Benchmark
+    public boolean overlapsPolygon() {
+        return polygon.overlaps(testPoly, true);
+    }
+
+    @Benchmark
+    public boolean overlapsRotatedPolygon() {
+        return polygon.overlaps(testPoly, rotatedVertices, rotatedBounds, true);
+    }
+
+    @Benchmark
+    public boolean overlapsCircle() {
+        return polygon.overlaps(pointX, pointY, 8, true);
+    }
+}
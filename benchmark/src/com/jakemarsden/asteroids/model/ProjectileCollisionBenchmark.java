@@ -0,0 +1,62 @@
+package com.jakemarsden.asteroids.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Benchmarks moving every Projectile and checking it against the Asteroids, with far more Projectiles than a normal
+ * game would ever have, split into different numbers of slices. A single slice is checked entirely on the benchmark's
+ * own thread. The world is frozen (see BenchmarkWorlds), so every update does the same amount of work.
+ *
+ * @author jakemarsden
+ */
+@State(Scope.Thread)
+public class ProjectileCollisionBenchmark {
+
+    @Param({"ARRAYS", "OBJECTS"})
+    public EntityStore.Layout layout;
+
+    @Param({"50", "200"})
+    public int asteroidCount;
+
+    @Param({"1000", "5000"})
+    public int projectileCount;
+
+    @Param({"1", "2", "4"})
+    public int slices;
+
+    private GameWorld world;
+
+    private ExecutorService executor;
+
+
+    @Setup
+    public void setUp() {
+        world = BenchmarkWorlds.createWorld(asteroidCount, projectileCount, false, layout);
+        if (slices > 1) {
+            executor = Executors.newFixedThreadPool(slices);
+            world.projectiles.setCollisionExecutor(executor, slices);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+
+    @Benchmark
+    public ProjectileStore update() {
+        world.projectiles.update(world);
+        return world.projectiles;
+    }
+}
@@ -0,0 +1,41 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the creation of a random Polygon, which happens every time an Asteroid is spawned. This includes
+ * splitting the Polygon into convex pieces. The generator picks its own number of vertices, so this is parameterised
+ * by the radii of each Asteroid size instead.
+ *
+ * @author jakemarsden
+ */
+@State(Scope.Thread)
+public class RandomPolygonGeneratorBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Asteroid.Size size;
+
+    private Random rand;
+
+
+    @Setup
+    public void setUp() {
+        rand = Random.fromSeed(BenchmarkWorlds.SEED);
+    }
+
+
+    @Benchmark
+    public Polygon createPolygon() {
+        return RandomPolygonGenerator.createPolygon(rand, 0, 0, size.minInternalRadius, size.maxExternalRadius);
+    }
+
+    @Benchmark
+    public Asteroid createAsteroid() {
+        return new Asteroid(rand, 0, 0, size);
+    }
+}
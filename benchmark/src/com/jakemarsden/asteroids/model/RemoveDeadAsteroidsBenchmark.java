@@ -0,0 +1,140 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways dead Asteroids can be removed at the end of an update, with far more Asteroids than a game ever has
+ * so that the cost of removal itself shows up:
+ * <p/>
+ * removeEach - Calls remove() for each dead Asteroid as it's found, like GameWorld used to. Every removal shifts the
+ * rest of the store along, so this gets quadratically worse the more Asteroids die at once.
+ * <p/>
+ * copyDown - removeDead() copying the survivors down over the gaps, which keeps their order. This is what GameWorld
+ * does by default.
+ * <p/>
+ * swap - removeDead() moving the last Asteroid into each gap (GameWorld.swapRemoveDeadAsteroids).
+ * <p/>
+ * Removing the dead Asteroids empties the store of them, so each store can only be used once. Rather than putting the
+ * store back before every single call, which would take longer than some of the calls themselves, a whole batch of
+ * identical stores is built before each iteration and each call uses up the next one. Scores are for a whole batch of
+ * BATCH_SIZE stores. The same Asteroids (chosen from a fixed seed) are dead in every store, whichever layout is used.
+ *
+ * @author jakemarsden
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = RemoveDeadAsteroidsBenchmark.BATCH_SIZE)
+@Measurement(iterations = 10, batchSize = RemoveDeadAsteroidsBenchmark.BATCH_SIZE)
+public class RemoveDeadAsteroidsBenchmark {
+
+    static final int BATCH_SIZE = 10;
+
+    private static final int ASTEROID_COUNT = 10000;
+
+    private static final int VERTEX_COUNT = 16;
+
+    private static final long SEED = 123456789L;
+    /*
+     * Told about every removal, and ignores them all.
+     */
+    private static final AsteroidStore.RemovalListener IGNORE_REMOVALS = new AsteroidStore.RemovalListener() {
+        @Override
+        public void onAsteroidRemoved(int i) {
+        }
+
+        @Override
+        public void onAsteroidMoved(int from, int to) {
+        }
+    };
+
+
+    @Param({"ARRAYS", "OBJECTS"})
+    public EntityStore.Layout layout;
+
+    @Param({"removeEach", "copyDown", "swap"})
+    public String mode;
+
+    @Param({"1", "10", "50"})
+    public int deadPercent;
+
+    /*
+     * The shape of every Asteroid, and whether each one should be dead, in their original order. The Polygons are never
+     * moved, so the same ones can be shared between every store.
+     */
+    private Polygon[] shapes;
+
+    private boolean[] dead;
+    /*
+     * The stores for the current batch, and the index of the next one to be used.
+     */
+    private final AsteroidStore[] stores = new AsteroidStore[BATCH_SIZE];
+
+    private int nextStore;
+
+
+    @Setup
+    public void setUp() {
+        final Random rand = Random.fromSeed(SEED);
+        shapes = new Polygon[ASTEROID_COUNT];
+        dead = new boolean[ASTEROID_COUNT];
+        final float[] vertices = new float[2 * VERTEX_COUNT];
+        for (int i = 0; i < ASTEROID_COUNT; i++) {
+            final float centreX = rand.nextFloat(0, 1280);
+            final float centreY = rand.nextFloat(0, 720);
+            for (int v = 0; v < VERTEX_COUNT; v++) {
+                final double angle = 2 * Math.PI * v / VERTEX_COUNT;
+                final double radius = rand.nextDouble(20, 40);
+                vertices[2 * v] = (float) (radius * Math.cos(angle));
+                vertices[2 * v + 1] = (float) (radius * Math.sin(angle));
+            }
+            shapes[i] = new Polygon(centreX, centreY, vertices);
+            dead[i] = rand.nextInt(0, 100) < deadPercent;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void fillStores() {
+        for (int s = 0; s < BATCH_SIZE; s++) {
+            final AsteroidStore store = AsteroidStore.create(layout, ASTEROID_COUNT);
+            for (int i = 0; i < ASTEROID_COUNT; i++) {
+                store.add(shapes[i], Asteroid.Size.MEDIUM, 0, 0);
+                if (dead[i]) {
+                    store.kill(i);
+                }
+            }
+            stores[s] = store;
+        }
+        nextStore = 0;
+    }
+
+
+    @Benchmark
+    public AsteroidStore removeDeadAsteroids() {
+        final AsteroidStore store = stores[nextStore++];
+        if ("removeEach".equals(mode)) {
+            for (int i = 0; i < store.size(); i++) {
+                if (!store.isAlive(i)) {
+                    store.remove(i);
+                    i--;
+                }
+            }
+        } else {
+            store.removeDead("swap".equals(mode), IGNORE_REMOVALS);
+        }
+        return store;
+    }
+}
@@ -0,0 +1,101 @@
+package com.jakemarsden.asteroids.model;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks that updating a GameWorld doesn't allocate anything once the game has warmed up. A world with an AIPlayer is
+ * updated WARM_UP_UPDATES times, then the bytes allocated by this thread are measured for each of the next
+ * CHECKED_UPDATES updates. Any update which allocates at all is a failure, and this exits with a status of 1.
+ * <p/>
+ * Every update is checked, including those which spawn Asteroids, just like with AllocationCheckingUpdateListener.
+ * Only GameWorld's default layout is checked, as the object layout creates a new object whenever the game has more
+ * Asteroids or Projectiles at once than ever before.
+ * <p/>
+ * JMH's GC profiler (see BenchmarkRunner) gives the same answer as gc.alloc.rate.norm, but only for the frozen worlds
+ * the benchmarks use, which never spawn, split or lose an Asteroid. This plays a real game instead, so it also catches
+ * anything which only allocates once the game gets busier than it's been before, such as an array growing.
+ * <p/>
+ * When the JIT compiler gives up on compiled code, any objects it had optimised away are allocated for real, and this
+ * shows up as the odd few bytes early on in a run. To keep that out of the measurements, a few other worlds are played
+ * first so that the compiled code has settled down. For an exact answer, run with -Xint.
+ * <p/>
+ * This lives with the benchmarks rather than the game, as com.sun.management isn't available on Android.
+ * <p/>
+ * Usage: UpdateAllocationCheck [&lt;seed&gt;]
+ *
+ * @author jakemarsden
+ */
+public class UpdateAllocationCheck {
+
+    private static final long DEF_SEED = 42;
+    /*
+     * The size of the "screen" the game is played on.
+     */
+    private static final float WIDTH = 1280, HEIGHT = 720;
+    /*
+     * How many worlds are played (each for as long as the measured one) before the measured one, to warm up the JIT.
+     */
+    private static final int JIT_WARM_UP_WORLDS = 5;
+    /*
+     * How many times the measured world is updated before anything is measured. By now, every array in the game has
+     * had the chance to grow as large as it needs to be.
+     */
+    private static final int WARM_UP_UPDATES = 20000;
+
+    private static final int CHECKED_UPDATES = 50000;
+
+
+    private UpdateAllocationCheck() {
+        throw new UnsupportedOperationException();
+    }
+
+
+    public static void main(String[] args) {
+        final long seed = args.length > 0 ? Long.parseLong(args[0]) : DEF_SEED;
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < JIT_WARM_UP_WORLDS; i++) {
+            final GameWorld world = createWorld(seed + 1 + i);
+            update(world, WARM_UP_UPDATES + CHECKED_UPDATES);
+        }
+
+        final GameWorld world = createWorld(seed);
+        update(world, WARM_UP_UPDATES);
+
+        // Measure every update before printing anything, so that printing can't allocate in the middle of one.
+        int failures = 0;
+        long failedBytes = 0;
+        for (int i = 0; i < CHECKED_UPDATES; i++) {
+            final long start = threads.getThreadAllocatedBytes(threadId);
+            world.onGameUpdate();
+            final long allocated = threads.getThreadAllocatedBytes(threadId) - start;
+            if (allocated != 0) {
+                failures++;
+                failedBytes += allocated;
+            }
+        }
+
+        System.out.println("Checked " + CHECKED_UPDATES + " updates");
+        if (failures != 0) {
+            System.out.println("FAILED: " + failures + " updates allocated " + failedBytes + " bytes after warming up (seed " + seed + ")");
+            System.exit(1);
+        } else {
+            System.out.println("OK: nothing was allocated after warming up (seed " + seed + ")");
+        }
+    }
+
+
+    private static GameWorld createWorld(long seed) {
+        final GameWorld world = new GameWorld(new NullAudioController(), seed, true);
+        world.onViewCreated(0, 0, WIDTH, HEIGHT);
+        return world;
+    }
+
+    private static void update(GameWorld world, int updates) {
+        for (int i = 0; i < updates; i++) {
+            world.onGameUpdate();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.jakemarsden.asteroids.render;
+
+import com.jakemarsden.asteroids.model.PolygonShape;
+import com.jakemarsden.asteroids.util.Rectangle;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws off-screen into a BufferedImage with Java2D, so that the cost of drawing the game can be measured on a plain
+ * JVM without a device. This lives with the benchmarks rather than the game, as java.awt isn't available on Android.
+ * Like a software Canvas, nothing is anti-aliased.
+ *
+ * @author jakemarsden
+ */
+public class BufferedImageRenderer implements Renderer {
+
+    /*
+     * How many vertices there's room for in polygonX and polygonY before they first need to grow.
+     */
+    private static final int DEF_POLYGON_CAPACITY = 32;
+    /*
+     * How many colours to keep a Color for. Each Projectile is drawn in two colours, so there need to be at least two.
+     */
+    private static final int CACHED_COLOURS = 4;
+
+
+    private final BufferedImage image;
+
+    private final Graphics2D graphics;
+
+    private final BufferedImage spriteSheet;
+
+    private final int spriteWidth, spriteHeight;
+    /*
+     * Where each sprite is drawn relative to its centre, when it isn't rotated.
+     */
+    private final int destinationLeft, destinationTop, destinationRight, destinationBottom;
+    /*
+     * The transform graphics is put back to after drawing each sprite.
+     */
+    private final AffineTransform identity = new AffineTransform();
+    /*
+     * Reused for every circle, so that drawing doesn't need to allocate anything.
+     */
+    private final Ellipse2D.Float circle = new Ellipse2D.Float();
+    /*
+     * Reused for every polygon. Java2D only draws polygons with integer coordinates.
+     */
+    private int[] polygonX = new int[DEF_POLYGON_CAPACITY], polygonY = new int[DEF_POLYGON_CAPACITY];
+    /*
+     * The most recently used colours, and a Color for each, so that a new Color isn't made every time the colour
+     * changes. Replaced in turn when a colour isn't found.
+     */
+    private final int[] colours = new int[CACHED_COLOURS];
+
+    private final Color[] awtColours = new Color[CACHED_COLOURS];
+
+    private int nextColour = 0;
+    /*
+     * The width of the stroke graphics is currently using, which starts off as 1.
+     */
+    private float strokeWidth = 1;
+
+
+    /*
+     * @param width The width of the image to draw into.
+     * @param height The height of the image to draw into.
+     * @param spriteSheet The image containing the sprites, side by side.
+     * @param spriteCount How many sprites there are in spriteSheet.
+     * @param destination Where each sprite should be drawn relative to its centre, when it isn't rotated.
+     */
+    public BufferedImageRenderer(int width, int height, BufferedImage spriteSheet, int spriteCount, Rectangle destination) {
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+        this.spriteSheet = spriteSheet;
+        spriteWidth = spriteSheet.getWidth() / spriteCount;
+        spriteHeight = spriteSheet.getHeight();
+        destinationLeft = Math.round(destination.left);
+        destinationTop = Math.round(destination.top);
+        destinationRight = Math.round(destination.right);
+        destinationBottom = Math.round(destination.bottom);
+    }
+
+
+    @Override
+    public void beginFrame(int colour) {
+        setColour(colour);
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+    }
+
+    @Override
+    public void drawLines(float[] lines, int offset, int count, int colour) {
+        setColour(colour);
+        setStrokeWidth(1);
+        for (int i = offset; i + 3 < offset + count; i += 4) {
+            graphics.drawLine(Math.round(lines[i]), Math.round(lines[i + 1]), Math.round(lines[i + 2]), Math.round(lines[i + 3]));
+        }
+    }
+
+    @Override
+    public void drawPolygon(PolygonShape shape, float x, float y, int colour) {
+        final int vertexCount = shape.getVertexCount();
+        if (vertexCount > polygonX.length) {
+            polygonX = new int[Math.max(2 * polygonX.length, vertexCount)];
+            polygonY = new int[polygonX.length];
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            polygonX[v] = Math.round(shape.getX(v) + x);
+            polygonY[v] = Math.round(shape.getY(v) + y);
+        }
+        setColour(colour);
+        setStrokeWidth(1);
+        graphics.drawPolygon(polygonX, polygonY, vertexCount);
+    }
+
+    @Override
+    public void drawCircle(float x, float y, float radius, int fillColour, int borderColour, float borderWidth) {
+        circle.setFrame(x - radius, y - radius, 2 * radius, 2 * radius);
+        setColour(fillColour);
+        graphics.fill(circle);
+        setColour(borderColour);
+        setStrokeWidth(borderWidth);
+        graphics.draw(circle);
+    }
+
+    @Override
+    public void drawSprite(int sprite, float centreX, float centreY, float degrees) {
+        graphics.translate(centreX, centreY);
+        graphics.rotate(Math.toRadians(degrees));
+        graphics.drawImage(spriteSheet,
+                destinationLeft, destinationTop, destinationRight, destinationBottom,
+                sprite * spriteWidth, 0, (sprite + 1) * spriteWidth, spriteHeight,
+                null);
+        graphics.setTransform(identity);
+    }
+
+    @Override
+    public void endFrame() {
+        // Everything has already been drawn
+    }
+
+    /*
+     * @return The image everything is drawn into.
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+
+    private void setColour(int colour) {
+        for (int i = 0; i < CACHED_COLOURS; i++) {
+            if (awtColours[i] != null && colours[i] == colour) {
+                graphics.setColor(awtColours[i]);
+                return;
+            }
+        }
+        colours[nextColour] = colour;
+        awtColours[nextColour] = new Color(colour, true);
+        graphics.setColor(awtColours[nextColour]);
+        nextColour = (nextColour + 1) % CACHED_COLOURS;
+    }
+
+    private void setStrokeWidth(float width) {
+        if (width != strokeWidth) {
+            strokeWidth = width;
+            graphics.setStroke(new BasicStroke(width));
+        }
+    }
+}
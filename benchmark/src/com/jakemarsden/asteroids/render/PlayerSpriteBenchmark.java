@@ -0,0 +1,142 @@
+package com.jakemarsden.asteroids.render;
+
+import com.jakemarsden.asteroids.util.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Compares the two ways a CanvasRenderer can draw the Player's sprite, using Java2D in place of an Android Canvas so
+ * that it can be run without a device:
+ * <p/>
+ * rotate - The sprite is rotated to the Player's angle and scaled into place as it's drawn, like a CanvasRenderer
+ * does by default.
+ * <p/>
+ * atlas - The sprite is copied unscaled from a frame drawn up-front at the closest angle, like a PlayerSpriteAtlas
+ * (see com.jakemarsden.asteroids.view). The frames are built the same way as PlayerSpriteAtlas builds them.
+ * <p/>
+ * The sprite sheet is read from res/drawable/, so this needs to be run from the project's root directory.
+ *
+ * @author jakemarsden
+ */
+@State(Scope.Thread)
+public class PlayerSpriteBenchmark {
+
+    private static final String SPRITE_SHEET = "res/drawable/player_sprites.png";
+
+    private static final int WIDTH = 512, HEIGHT = 512;
+    /*
+     * The angle the Player is drawn at, in degrees. Anything other than a multiple of 90 degrees, so that rotating the
+     * sprite isn't a special case.
+     */
+    private static final float DEGREES = 124;
+
+
+    @Param({"rotate", "atlas"})
+    public String mode;
+    /*
+     * How many angles the atlas draws each sprite at.
+     */
+    @Param({"72"})
+    public int atlasAngles;
+
+    private BufferedImage spriteSheet;
+
+    private BufferedImage image;
+
+    private Graphics2D graphics;
+
+    private final AffineTransform identity = new AffineTransform();
+    /*
+     * Where the sprite is drawn relative to the Player's centre, when the Player isn't rotated.
+     */
+    private int destinationLeft, destinationTop, destinationRight, destinationBottom;
+
+    private int spriteWidth, spriteHeight;
+    /*
+     * The pre-rotated frames of each sprite, indexed by [sprite][angle], and the width and height of each frame.
+     */
+    private BufferedImage[][] atlas;
+
+    private int frameSize;
+
+
+    @Setup
+    public void setUp() throws IOException {
+        spriteSheet = ImageIO.read(new File(SPRITE_SHEET));
+        spriteWidth = spriteSheet.getWidth() / PlayerDrawer.SPRITE_COUNT;
+        spriteHeight = spriteSheet.getHeight();
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+
+        final Rectangle destination = PlayerDrawer.getSpriteDestination();
+        final float left = destination.left, top = destination.top, right = destination.right,
+                bottom = destination.bottom;
+        destinationLeft = Math.round(left);
+        destinationTop = Math.round(top);
+        destinationRight = Math.round(right);
+        destinationBottom = Math.round(bottom);
+
+        // Each frame must fit the sprite at any angle about its centre, which is in the middle of the frame.
+        final float maxX = Math.max(Math.abs(left), Math.abs(right));
+        final float maxY = Math.max(Math.abs(top), Math.abs(bottom));
+        frameSize = (int) Math.ceil(2 * Math.sqrt(maxX * maxX + maxY * maxY));
+        atlas = new BufferedImage[PlayerDrawer.SPRITE_COUNT][atlasAngles];
+        for (int s = 0; s < PlayerDrawer.SPRITE_COUNT; s++) {
+            for (int a = 0; a < atlasAngles; a++) {
+                final BufferedImage frame = new BufferedImage(frameSize, frameSize, BufferedImage.TYPE_INT_ARGB_PRE);
+                final Graphics2D frameGraphics = frame.createGraphics();
+                frameGraphics.translate(frameSize / 2.0, frameSize / 2.0);
+                frameGraphics.rotate(2 * Math.PI * a / atlasAngles);
+                drawUnrotatedSprite(frameGraphics, s);
+                frameGraphics.dispose();
+                atlas[s][a] = frame;
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+
+    @Benchmark
+    public BufferedImage drawPlayer() {
+        final float centreX = WIDTH / 2f, centreY = HEIGHT / 2f;
+        if ("atlas".equals(mode)) {
+            int angle = Math.round(DEGREES * atlasAngles / 360f) % atlasAngles;
+            if (angle < 0) {
+                angle += atlasAngles;
+            }
+            graphics.drawImage(atlas[0][angle], Math.round(centreX - frameSize / 2f), Math.round(centreY - frameSize / 2f), null);
+        } else {
+            graphics.translate(centreX, centreY);
+            graphics.rotate(Math.toRadians(DEGREES));
+            drawUnrotatedSprite(graphics, 0);
+            graphics.setTransform(identity);
+        }
+        return image;
+    }
+
+
+    /*
+     * Draws the sprite centred on [0,0] of the Graphics2D, scaled into place.
+     */
+    private void drawUnrotatedSprite(Graphics2D target, int sprite) {
+        target.drawImage(spriteSheet,
+                destinationLeft, destinationTop, destinationRight, destinationBottom,
+                sprite * spriteWidth, 0, (sprite + 1) * spriteWidth, spriteHeight,
+                null);
+    }
+}
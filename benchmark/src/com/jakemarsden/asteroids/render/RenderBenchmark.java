@@ -0,0 +1,99 @@
+package com.jakemarsden.asteroids.render;
+
+import com.jakemarsden.asteroids.model.BenchmarkWorlds;
+import com.jakemarsden.asteroids.model.GameWorld;
+import com.jakemarsden.asteroids.model.WorldSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.imageio.ImageIO;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Benchmarks drawing a single frame of the game world with the same SceneDrawers the game uses, without a device.
+ * <ul>
+ *     <li>image: everything is drawn off-screen into a BufferedImage (see BufferedImageRenderer).</li>
+ *     <li>batching: only the work a BatchingRenderer does on the CPU, writing the frame into its vertex buffers. The
+ *     buffers aren't drawn anywhere, so this is the cost batching adds before the few draw calls it makes.</li>
+ * </ul>
+ * The sprite sheet is read from res/drawable/, so this needs to be run from the project's root directory.
+ *
+ * @author jakemarsden
+ */
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    private static final String SPRITE_SHEET = "res/drawable/player_sprites.png";
+
+
+    @Param({"image", "batching"})
+    public String renderer;
+
+    @Param({"false", "true"})
+    public boolean drawShapes;
+
+    @Param({"10", "50", "200"})
+    public int asteroidCount;
+
+    @Param({"20", "500"})
+    public int projectileCount;
+
+    private Renderer target;
+
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+
+    private final ProjectileDrawer projectileDrawer = new ProjectileDrawer();
+
+    private AsteroidDrawer asteroidDrawer;
+
+    private final PlayerDrawer playerDrawer = new PlayerDrawer();
+
+
+    @Setup
+    public void setUp() throws IOException {
+        final GameWorld world = BenchmarkWorlds.createWorld(asteroidCount, projectileCount, false, GameWorld.DEF_LAYOUT);
+        snapshot.capture(world);
+        asteroidDrawer = new AsteroidDrawer(drawShapes);
+
+        if ("image".equals(renderer)) {
+            target = new BufferedImageRenderer((int) BenchmarkWorlds.WIDTH, (int) BenchmarkWorlds.HEIGHT,
+                    ImageIO.read(new File(SPRITE_SHEET)), PlayerDrawer.SPRITE_COUNT, PlayerDrawer.getSpriteDestination());
+        } else if ("batching".equals(renderer)) {
+            target = new BatchingRenderer(1, 1, PlayerDrawer.SPRITE_COUNT, PlayerDrawer.getSpriteDestination()) {
+                @Override
+                protected void clear(int colour) {
+                }
+
+                @Override
+                protected void drawTriangles(float[] vertices, int[] colours, int vertexCount) {
+                }
+
+                @Override
+                protected void drawLineBatch(float[] lines, int count, int colour) {
+                }
+
+                @Override
+                protected void drawSpriteBatch(float[] vertices, float[] texCoords, int vertexCount) {
+                }
+            };
+        } else {
+            throw new IllegalArgumentException("Unknown renderer: " + renderer);
+        }
+    }
+
+
+    @Benchmark
+    public Renderer drawFrame() {
+        // Half way between two updates, so that everything is interpolated
+        target.beginFrame(0xff000000);
+        projectileDrawer.draw(target, snapshot.projectiles, 0.5f);
+        asteroidDrawer.draw(target, snapshot.asteroids, 0.5f);
+        playerDrawer.draw(target, snapshot, 0.5f);
+        target.endFrame();
+        return target;
+    }
+}
@@ -38,11 +38,19 @@ public class GameLoop implements Runnable {
      * The default of whether or not the thread is allowed to sleep to be used when none is specified.
      */
     private static final boolean DEF_SHOULD_ALLOW_SLEEPING = true;
+    /*
+     * The default way of scheduling updates and draws to be used when none is specified.
+     */
+    private static final TimingMode DEF_TIMING_MODE = TimingMode.SCHEDULED;
 
     /*
      * How long the loop will sleep for between checks for a changed state, in milliseconds.
      */
     private static final long SLEEP_TIME_WHILE_PAUSED = 100;
+    /*
+     * How many nanoseconds there are in one millisecond.
+     */
+    private static final long NANOS_PER_MILLI = 1000000L;
 
     /*
      * Any listeners who wish to receive callback about periodic game updates. Currently, the GameWorld will be the
@@ -62,8 +70,9 @@ public class GameLoop implements Runnable {
     /*
      * How far apart two consecutive draws should be, in milliseconds. The actual delay may be longer than this in
      * practise if the processor cannot update/draw fast enough.
-     * As we're not currently using interpolation, this should really be just longer than updatePeriod as drawing more
-     * than once between each update is pretty pointless.
+     * When using TimingMode.SCHEDULED there is no interpolation, so this should really be just longer than updatePeriod
+     * as drawing more than once between each update is pretty pointless. TimingMode.FIXED_TIMESTEP interpolates between
+     * updates, so drawing more often than updating makes the game look smoother.
      */
     private final long framePeriod;
     /*
@@ -72,8 +81,9 @@ public class GameLoop implements Runnable {
      * to the screen. A low value may make the game slightly more jerky on slower devices, but at least the user will be
      * able to see what's happening. Set this value to 0 for no limit.
      * <p/>
-     * Note that this functionality is not currently implemented as this game isn't very CPU intensive. Too much work
-     * for too little gain.
+     * Note that this is only enforced when using TimingMode.FIXED_TIMESTEP. Once the limit is reached, any updates we're
+     * still behind on are dropped rather than made up later, so that a slow device can't fall further and further behind
+     * (the "spiral of death").
      */
     private final int maximumUpdatesPerFrame;
     /*
@@ -83,24 +93,45 @@ public class GameLoop implements Runnable {
      * late for an update or a draw, although this is unlikely). It is recommended to use true.
      */
     private final boolean shouldSleepWhileRunning;
+    /*
+     * How updates and draws are scheduled. See the TimingMode enum for more details.
+     */
+    private final TimingMode timingMode;
     /*
      * The current state of the game loop. See the getLoopState() method and the LoopState enum for more details.
      */
-    private LoopState loopState = LoopState.STOPPED;
+    private volatile LoopState loopState = LoopState.STOPPED;
+    /*
+     * When using TimingMode.PIPELINED, the System.nanoTime() at which the most recent update finished. The drawing
+     * thread uses this to work out how far the game is between updates.
+     */
+    private volatile long lastUpdateTime;
 
 
     /*
      * Constructs the class using the default values above
      */
     public GameLoop() {
-        this(DEF_UPDATE_PERIOD, DEF_DRAW_PERIOD, DEF_MAX_UPDATES_PER_FRAME, DEF_SHOULD_ALLOW_SLEEPING);
+        this(DEF_TIMING_MODE);
+    }
+
+    /*
+     * Constructs the class using the default values above, except for the timing mode.
+     */
+    public GameLoop(TimingMode timingMode) {
+        this(DEF_UPDATE_PERIOD, DEF_DRAW_PERIOD, DEF_MAX_UPDATES_PER_FRAME, DEF_SHOULD_ALLOW_SLEEPING, timingMode);
     }
 
     public GameLoop(long updatePeriod, long framePeriod, int maximumUpdatesPerFrame, boolean shouldSleepWhileRunning) {
+        this(updatePeriod, framePeriod, maximumUpdatesPerFrame, shouldSleepWhileRunning, DEF_TIMING_MODE);
+    }
+
+    public GameLoop(long updatePeriod, long framePeriod, int maximumUpdatesPerFrame, boolean shouldSleepWhileRunning, TimingMode timingMode) {
         this.updatePeriod = updatePeriod;
         this.framePeriod = framePeriod;
         this.maximumUpdatesPerFrame = maximumUpdatesPerFrame;
         this.shouldSleepWhileRunning = shouldSleepWhileRunning;
+        this.timingMode = timingMode;
     }
 
 
@@ -175,15 +206,28 @@ public class GameLoop implements Runnable {
         }
     }
 
-    private void doDraw() {
+    private void doDraw(float interpolation) {
         for (DrawListener listener : drawListeners) {
-            listener.onGameRedraw();
+            listener.onGameRedraw(interpolation);
         }
     }
 
 
     @Override
     public void run() {
+        if (timingMode == TimingMode.FIXED_TIMESTEP) {
+            runFixedTimestep();
+        } else if (timingMode == TimingMode.PIPELINED) {
+            runPipelined();
+        } else {
+            runScheduled();
+        }
+    }
+
+    /*
+     * Runs the loop using TimingMode.SCHEDULED.
+     */
+    private void runScheduled() {
         long nextUpdate, nextDraw;
         nextUpdate = nextDraw = System.currentTimeMillis();
 
@@ -199,7 +243,7 @@ public class GameLoop implements Runnable {
                     final long timeTilNextDraw = nextDraw - time;
                     if (timeTilNextDraw <= 0) {
                         nextDraw = time + framePeriod; // If we fail to draw on time, we don't really care too much.
-                        doDraw();
+                        doDraw(0);
                     } else if (shouldSleepWhileRunning) {
                         // Save some battery and some CPU by sleeping until just before the next update or draw is scheduled.
                         final long sleepTime = (long) ((double) Math.min(timeTilNextUpdate, timeTilNextDraw) * 0.9d);
@@ -227,6 +271,196 @@ public class GameLoop implements Runnable {
     }
 
 
+    /*
+     * Runs the loop using TimingMode.FIXED_TIMESTEP.
+     */
+    private void runFixedTimestep() {
+        final long updatePeriodNanos = updatePeriod * NANOS_PER_MILLI;
+        final long framePeriodNanos = framePeriod * NANOS_PER_MILLI;
+
+        // How much game time has passed which hasn't yet been simulated by an update.
+        long accumulator = 0;
+        long previousTime = System.nanoTime();
+        long nextDraw = previousTime;
+
+        while (true) {
+            if (loopState == LoopState.RUNNING) {
+
+                final long time = System.nanoTime();
+                accumulator += time - previousTime;
+                previousTime = time;
+
+                // Catch up with however many updates are due, but no more than we're allowed before the next draw.
+                int updates = 0;
+                while (accumulator >= updatePeriodNanos && (maximumUpdatesPerFrame <= 0 || updates < maximumUpdatesPerFrame)) {
+                    doUpdate();
+                    accumulator -= updatePeriodNanos;
+                    updates++;
+                }
+                if (accumulator >= updatePeriodNanos) {
+                    // We're too far behind to ever catch up. Drop the missed updates, otherwise each frame would have
+                    // even more updates to make up than the last.
+                    accumulator %= updatePeriodNanos;
+                }
+
+                final long timeTilNextDraw = nextDraw - time;
+                if (timeTilNextDraw <= 0) {
+                    nextDraw = time + framePeriodNanos; // If we fail to draw on time, we don't really care too much.
+                    // How far we are between the last update and the next one, in the range [0, 1).
+                    doDraw((float) accumulator / updatePeriodNanos);
+                } else if (shouldSleepWhileRunning) {
+                    // Save some battery and some CPU by sleeping until just before the next update or draw is scheduled.
+                    final long timeTilNextUpdate = updatePeriodNanos - accumulator;
+                    final long sleepTime = (long) ((double) Math.min(timeTilNextUpdate, timeTilNextDraw) * 0.9d);
+                    if (sleepTime > 0) {
+                        try {
+                            Thread.sleep(sleepTime / NANOS_PER_MILLI, (int) (sleepTime % NANOS_PER_MILLI));
+                        } catch (InterruptedException err) {
+                            // FIXME logging Logger.INSTANCE.d(((Object) this).getClass(), "Sleep interrupted while running", err);
+                        }
+                    }
+                }
+
+            } else if (loopState == LoopState.PAUSED) {
+                try {
+                    Thread.sleep(SLEEP_TIME_WHILE_PAUSED);
+                } catch (InterruptedException err) {
+                    // FIXME logging Logger.INSTANCE.d(((Object) this).getClass(), "Sleep interrupted while paused", err);
+                }
+                // Time spent paused shouldn't have to be made up for once we're running again.
+                previousTime = System.nanoTime();
+            } else {
+                break;
+            }
+        }
+    }
+
+
+    /*
+     * Runs the loop using TimingMode.PIPELINED. Draws are handed off to a second thread, which is started here and
+     * finishes once the loop is stopped.
+     */
+    private void runPipelined() {
+        final Thread drawThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runPipelinedDraws();
+            }
+        }, "GameLoop-draw");
+        lastUpdateTime = System.nanoTime();
+        drawThread.start();
+
+        final long updatePeriodNanos = updatePeriod * NANOS_PER_MILLI;
+        long accumulator = 0;
+        long previousTime = System.nanoTime();
+
+        while (true) {
+            if (loopState == LoopState.RUNNING) {
+
+                final long time = System.nanoTime();
+                accumulator += time - previousTime;
+                previousTime = time;
+
+                // There's no drawing on this thread, so maximumUpdatesPerFrame instead limits how many updates we'll
+                // make up in one go.
+                int updates = 0;
+                while (accumulator >= updatePeriodNanos && (maximumUpdatesPerFrame <= 0 || updates < maximumUpdatesPerFrame)) {
+                    doUpdate();
+                    lastUpdateTime = System.nanoTime();
+                    accumulator -= updatePeriodNanos;
+                    updates++;
+                }
+                if (accumulator >= updatePeriodNanos) {
+                    accumulator %= updatePeriodNanos;
+                }
+
+                if (shouldSleepWhileRunning) {
+                    final long sleepTime = (long) ((double) (updatePeriodNanos - accumulator) * 0.9d);
+                    sleepNanos(sleepTime);
+                }
+
+            } else if (loopState == LoopState.PAUSED) {
+                sleepNanos(SLEEP_TIME_WHILE_PAUSED * NANOS_PER_MILLI);
+                previousTime = System.nanoTime();
+            } else {
+                break;
+            }
+        }
+
+        try {
+            drawThread.join();
+        } catch (InterruptedException err) {
+            // FIXME logging Logger.INSTANCE.d(((Object) this).getClass(), "Interrupted while waiting for draw thread", err);
+        }
+    }
+
+    /*
+     * Run by the drawing thread when using TimingMode.PIPELINED. Draws whatever was most recently published by the
+     * updating thread, at the requested frame rate, until the loop is stopped.
+     */
+    private void runPipelinedDraws() {
+        final long updatePeriodNanos = updatePeriod * NANOS_PER_MILLI;
+        final long framePeriodNanos = framePeriod * NANOS_PER_MILLI;
+        long nextDraw = System.nanoTime();
+
+        while (true) {
+            if (loopState == LoopState.RUNNING) {
+                final long time = System.nanoTime();
+                final long timeTilNextDraw = nextDraw - time;
+                if (timeTilNextDraw <= 0) {
+                    nextDraw = time + framePeriodNanos;
+                    final float interpolation = (float) (time - lastUpdateTime) / updatePeriodNanos;
+                    doDraw(Math.max(0f, Math.min(interpolation, 1f)));
+                } else if (shouldSleepWhileRunning) {
+                    sleepNanos((long) ((double) timeTilNextDraw * 0.9d));
+                }
+            } else if (loopState == LoopState.PAUSED) {
+                sleepNanos(SLEEP_TIME_WHILE_PAUSED * NANOS_PER_MILLI);
+            } else {
+                break;
+            }
+        }
+    }
+
+    private static void sleepNanos(long nanos) {
+        if (nanos > 0) {
+            try {
+                Thread.sleep(nanos / NANOS_PER_MILLI, (int) (nanos % NANOS_PER_MILLI));
+            } catch (InterruptedException err) {
+                // FIXME logging Logger.INSTANCE.d(GameLoop.class, "Sleep interrupted", err);
+            }
+        }
+    }
+
+
+    /*
+     * The ways in which a loop can schedule its updates and draws.
+     */
+    public enum TimingMode {
+
+        /*
+         * Updates and draws are each scheduled independently using the system clock, in milliseconds. Updates which
+         * are missed are made up as soon as possible, without limit. Draws always show the state of the game as of the
+         * most recent update.
+         */
+        SCHEDULED(),
+        /*
+         * Updates are run at a fixed rate using a nanosecond clock. Time is collected in an accumulator and one update
+         * is run for each full updatePeriod it contains, up to maximumUpdatesPerFrame per draw. Each draw is told how far
+         * the game is between the last update and the next, so that objects can be drawn where they would be at that
+         * moment. This means the game can be drawn smoothly at a higher rate than it's updated.
+         */
+        FIXED_TIMESTEP(),
+        /*
+         * Updates are run just like FIXED_TIMESTEP, but draws are run on a separate thread at their own rate. A slow
+         * draw (e.g. waiting for the screen) then never delays an update, and a slow update never delays a draw. This
+         * only works if the DrawListeners draw from a copy of the game's state which is safe to read while the game is
+         * being updated, such as GameWorld.snapshots.
+         */
+        PIPELINED();
+    }
+
+
     /*
      * An enumeration of the possible states this loop could be in at any one time. Note that setting the state to
      * anything from RUNNING will result in a small delay while the current update/draw completes before anything
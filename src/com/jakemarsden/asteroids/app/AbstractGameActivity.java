@@ -58,6 +58,8 @@ public abstract class AbstractGameActivity extends Activity {
             final GameView gameView = (GameView) view;
             final GameWorld gameWorld = createGameWorld();
             final GameLoop gameLoop = createGameLoop();
+            final AllocationCheckingUpdateListener allocationCheck =
+                    isAllocationCheckEnabled() ? new AllocationCheckingUpdateListener(gameWorld) : null;
 
             // The GameWorld needs to receive callback for InputEvents so it can properly manage the game's behaviour
             gameView.addInputListener(gameWorld);
@@ -77,6 +79,9 @@ public abstract class AbstractGameActivity extends Activity {
                     // FIXME logging Logger.INSTANCE.i(((Object) this).getClass(), "surfaceDestroyed(holder=" + holder + ")");
                     // The view is no longer visible to the user. Stop the game.
                     gameLoop.setLoopState(GameLoop.LoopState.STOPPED);
+                    if (allocationCheck != null) {
+                        allocationCheck.release();
+                    }
                 }
 
                 @Override
@@ -85,8 +90,9 @@ public abstract class AbstractGameActivity extends Activity {
                 }
             });
 
-            // The GameWorld needs to periodically update the game's state.
-            gameLoop.addUpdateListener(gameWorld);
+            // The GameWorld needs to periodically update the game's state. If we're checking for allocations, it's
+            // updated through the check instead.
+            gameLoop.addUpdateListener(allocationCheck != null ? allocationCheck : gameWorld);
             // The GameView needs to periodically redraw the game's state.
             gameLoop.addDrawListener(gameView);
         }
@@ -106,4 +112,13 @@ public abstract class AbstractGameActivity extends Activity {
      * @return A GameLoop object to be used in the game.
      */
     protected abstract GameLoop createGameLoop();
+
+    /*
+     * Used by subclasses to check that the game doesn't allocate anything while updating (see
+     * AllocationCheckingUpdateListener). This should only ever be enabled in tests and debug builds.
+     * @return True to check every update for allocations. False by default.
+     */
+    protected boolean isAllocationCheckEnabled() {
+        return false;
+    }
 }
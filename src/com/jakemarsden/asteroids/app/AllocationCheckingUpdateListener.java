@@ -0,0 +1,55 @@
+package com.jakemarsden.asteroids.app;
+
+import android.os.Debug;
+import com.jakemarsden.asteroids.listener.UpdateListener;
+import com.jakemarsden.asteroids.model.GameWorld;
+
+/**
+ * A check for tests and debugging, which updates a GameWorld in place of the GameWorld itself. Any garbage made while
+ * updating the game eventually has to be collected, which causes a noticeable hitch, so once the game is under way an
+ * update shouldn't allocate anything at all. This counts the objects allocated by the updating thread during each
+ * update, and throws an IllegalStateException from onGameUpdate() if there were any.
+ * <p/>
+ * Every update - moving everything, colliding, firing, spawning Asteroids, removing the dead and thinking for the AI -
+ * must allocate nothing. The shapes of new Asteroids are picked from the shapes generated when the game was created
+ * (see AsteroidShapeLibrary), so even spawning doesn't need to allocate. The object layout (see EntityStore.Layout) creates a new object whenever
+ * there are more Projectiles in the game at once than ever before, so this is most useful with the default array
+ * layout.
+ * <p/>
+ * Counting allocations slows everything down, so this should never be used in a release build.
+ *
+ * @author jakemarsden
+ */
+public class AllocationCheckingUpdateListener implements UpdateListener {
+
+    private final GameWorld gameWorld;
+
+
+    /*
+     * Starts counting allocations straight away. See release().
+     * @param gameWorld The GameWorld to update and check.
+     */
+    public AllocationCheckingUpdateListener(GameWorld gameWorld) {
+        this.gameWorld = gameWorld;
+        Debug.startAllocCounting();
+    }
+
+
+    @Override
+    public void onGameUpdate() {
+        Debug.resetThreadAllocCount();
+        gameWorld.onGameUpdate();
+        final int allocations = Debug.getThreadAllocCount();
+
+        if (allocations > 0) {
+            throw new IllegalStateException("Updating the game allocated " + allocations + " objects");
+        }
+    }
+
+    /*
+     * Stops counting allocations. Should be called once the game is over.
+     */
+    public void release() {
+        Debug.stopAllocCounting();
+    }
+}
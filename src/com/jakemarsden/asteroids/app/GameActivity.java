@@ -8,7 +8,12 @@ import android.view.Window;
 import android.view.WindowManager;
 import com.jakemarsden.asteroids.GameLoop;
 import com.jakemarsden.asteroids.R;
+import com.jakemarsden.asteroids.audio.SoundPoolAudioController;
 import com.jakemarsden.asteroids.model.GameWorld;
+import com.jakemarsden.asteroids.replay.InputRecorder;
+
+import java.io.File;
+import java.io.IOException;
 
 /**
  * The actual game for the user to play.
@@ -22,6 +27,19 @@ public class GameActivity extends AbstractGameActivity {
      * representing the user's score at the end of the game.
      */
     public static final String EXTRA_FINAL_SCORE = "com.marsden.asteroids.extras.FINAL_SCORE";
+    /*
+     * The most recent game is recorded to this file in the app's private storage, so that it can be played again
+     * later with a GameReplayer.
+     */
+    public static final String REPLAY_FILE_NAME = "last_game.replay";
+
+
+    /*
+     * The game currently being played, and the recorder recording it (or null if it isn't being recorded).
+     */
+    private GameWorld gameWorld;
+
+    private volatile InputRecorder recorder;
 
 
     public GameActivity() {
@@ -70,10 +88,16 @@ public class GameActivity extends AbstractGameActivity {
     @Override
     protected GameWorld createGameWorld() {
         // Use the current time as the seed to ensure different results each game
-        final GameWorld world = new GameWorld(this, System.currentTimeMillis(), false, true);
+        final GameWorld world = new GameWorld(new SoundPoolAudioController(this, 5, false), System.currentTimeMillis(), false);
+        finishRecording();
+        gameWorld = world;
+        recorder = createRecorder();
+        world.setOnUserInputHandledListener(recorder);
         world.setOnGameEndListener(new GameWorld.OnGameEndListener() {
             @Override
             public void onGameEnd(int finalScore) {
+                finishRecording();
+
                 // Closes the Activity, passing back the user's final score as the result
                 final Intent result = new Intent();
                 result.putExtra(EXTRA_FINAL_SCORE, finalScore);
@@ -84,8 +108,38 @@ public class GameActivity extends AbstractGameActivity {
         return world;
     }
 
+    /*
+     * Called by Android when the Activity is closing. If the user left before the game ended, the recording must still
+     * be finished so that everything recorded so far makes it to the file.
+     */
+    @Override
+    protected void onDestroy() {
+        finishRecording();
+        super.onDestroy();
+    }
+
+    /*
+     * @return A recorder writing to REPLAY_FILE_NAME, or null if the file couldn't be opened. Not being able to record
+     *          the game is no reason to stop the user from playing it.
+     */
+    private InputRecorder createRecorder() {
+        try {
+            return new InputRecorder(new File(getFilesDir(), REPLAY_FILE_NAME));
+        } catch (IOException err) {
+            // FIXME logging Logger.INSTANCE.w(getClass(), "Couldn't open " + REPLAY_FILE_NAME + ", game won't be recorded", err);
+            return null;
+        }
+    }
+
+    private void finishRecording() {
+        if (recorder != null) {
+            recorder.finish(gameWorld);
+            recorder = null;
+        }
+    }
+
     @Override
     protected GameLoop createGameLoop() {
-        return new GameLoop();
+        return new GameLoop(GameLoop.TimingMode.FIXED_TIMESTEP);
     }
 }
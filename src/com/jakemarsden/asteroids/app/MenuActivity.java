@@ -8,6 +8,7 @@ import android.view.Window;
 import android.widget.TextView;
 import com.jakemarsden.asteroids.GameLoop;
 import com.jakemarsden.asteroids.R;
+import com.jakemarsden.asteroids.audio.SoundPoolAudioController;
 import com.jakemarsden.asteroids.model.GameWorld;
 
 /**
@@ -183,11 +184,11 @@ public class MenuActivity extends AbstractGameActivity {
     @Override
     protected GameWorld createGameWorld() {
         // Use the current time as the seed to ensure different results each game
-        return new GameWorld(this, System.currentTimeMillis(), true, false);
+        return new GameWorld(new SoundPoolAudioController(this, 5, true), System.currentTimeMillis(), true);
     }
 
     @Override
     protected GameLoop createGameLoop() {
-        return new GameLoop();
+        return new GameLoop(GameLoop.TimingMode.FIXED_TIMESTEP);
     }
 }
@@ -0,0 +1,176 @@
+package com.jakemarsden.asteroids.headless;
+
+import com.jakemarsden.asteroids.model.GameWorld;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Plays many computer-controlled games at once, each with its own seed, and reports how the AIPlayer scored across all
+ * of them along with how many updates per second were managed. The games are played side by side on a
+ * MultiWorldEngine, spread across every available processor. As the games are seeded and the AIPlayer times itself in
+ * updates, running the same batch twice gives the same scores, which makes this useful for checking whether a change
+ * to the AIPlayer actually made it any better.
+ * <p/>
+ * Usage: AIBatchRunner &lt;first seed&gt; &lt;games&gt; &lt;updates&gt; [&lt;threads&gt;]
+ *
+ * @author jakemarsden
+ */
+public class AIBatchRunner {
+
+    private static final float WIDTH = 1280;
+    private static final float HEIGHT = 720;
+
+
+    private final long firstSeed;
+
+    private final int games;
+
+    private final int updates;
+
+    private final int threads;
+
+
+    /*
+     * @param firstSeed The seed to use for the first game. Each following game uses the next seed along.
+     * @param games How many games to play.
+     * @param updates The maximum number of updates to perform in each game.
+     * @param threads How many games may be played at the same time.
+     */
+    public AIBatchRunner(long firstSeed, int games, int updates, int threads) {
+        if (games <= 0) {
+            throw new IllegalArgumentException("Must play at least 1 game: " + games);
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Must use at least 1 thread: " + threads);
+        }
+        this.firstSeed = firstSeed;
+        this.games = games;
+        this.updates = updates;
+        this.threads = threads;
+    }
+
+
+    /*
+     * Plays every game in the batch on a MultiWorldEngine, returning once they have all finished.
+     * @return The result of each game, in order of seed.
+     */
+    public Result[] run() throws InterruptedException, ExecutionException {
+        final MultiWorldEngine engine = new MultiWorldEngine(threads);
+        try {
+            for (int i = 0; i < games; i++) {
+                engine.addWorld(MultiWorldEngine.createAIWorld(firstSeed + i, WIDTH, HEIGHT));
+            }
+            engine.step(updates);
+
+            final Result[] results = new Result[games];
+            for (int i = 0; i < games; i++) {
+                final GameWorld world = engine.getWorld(i);
+                final MultiWorldEngine.WorldStats stats = engine.getStats(i);
+                results[i] = new Result(firstSeed + i, world.score, (int) stats.getUpdates(), world.hasGameFinished(), stats.getBusyTime());
+            }
+            return results;
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        if (args.length != 3 && args.length != 4) {
+            System.err.println("Usage: " + AIBatchRunner.class.getSimpleName() + " <first seed> <games> <updates> [<threads>]");
+            System.exit(1);
+        }
+        final long firstSeed = Long.parseLong(args[0]);
+        final int games = Integer.parseInt(args[1]);
+        final int updates = Integer.parseInt(args[2]);
+        final int threads = args.length == 4 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        final AIBatchRunner batch = new AIBatchRunner(firstSeed, games, updates, threads);
+        final long startTime = System.nanoTime();
+        final Result[] results = batch.run();
+        final long elapsed = System.nanoTime() - startTime;
+
+        final int[] scores = new int[results.length];
+        long totalScore = 0, totalUpdates = 0, totalGameTime = 0;
+        int gamesEnded = 0;
+        for (int i = 0; i < results.length; i++) {
+            scores[i] = results[i].score;
+            totalScore += results[i].score;
+            totalUpdates += results[i].updates;
+            totalGameTime += results[i].elapsed;
+            if (results[i].gameEnded) {
+                gamesEnded++;
+            }
+        }
+        Arrays.sort(scores);
+
+        System.out.println("games:           " + games + " (" + gamesEnded + " ended) on " + threads + " threads");
+        System.out.println("elapsed:         " + (elapsed / 1000000) + "ms");
+        System.out.println("updates:         " + totalUpdates);
+        System.out.println("updates/second:  " + (elapsed == 0 ? "-" : String.valueOf((long) (totalUpdates * 1e9 / elapsed))));
+        System.out.println("per game:        " + (totalGameTime == 0 ? "-" : String.valueOf((long) (totalUpdates * 1e9 / totalGameTime))));
+        System.out.println();
+        System.out.println("score min:       " + scores[0]);
+        System.out.println("score mean:      " + String.format("%.1f", (double) totalScore / scores.length));
+        System.out.println("score p50:       " + percentile(scores, 50));
+        System.out.println("score p90:       " + percentile(scores, 90));
+        System.out.println("score p99:       " + percentile(scores, 99));
+        System.out.println("score max:       " + scores[scores.length - 1]);
+    }
+
+    /*
+     * @param sorted Values sorted into ascending order.
+     * @param percentile Between 0 and 100.
+     * @return The smallest value which is at least as large as percentile percent of the values.
+     */
+    private static int percentile(int[] sorted, double percentile) {
+        final int index = (int) Math.ceil(percentile / 100d * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+
+    /*
+     * The outcome of a single game in the batch.
+     */
+    public static class Result {
+
+        public final long seed;
+
+        public final int score;
+        /*
+         * How many updates were performed before the game ended or the limit was reached.
+         */
+        public final int updates;
+
+        public final boolean gameEnded;
+        /*
+         * How long, in nanoseconds, the game took to play.
+         */
+        public final long elapsed;
+
+
+        public Result(long seed, int score, int updates, boolean gameEnded, long elapsed) {
+            this.seed = seed;
+            this.score = score;
+            this.updates = updates;
+            this.gameEnded = gameEnded;
+            this.elapsed = elapsed;
+        }
+
+
+        /*
+         * @return A human-readable string representing this class. Useful for debugging
+         */
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{"
+                    + "seed=" + seed + ", "
+                    + "score=" + score + ", "
+                    + "updates=" + updates + ", "
+                    + "gameEnded=" + gameEnded + ", "
+                    + "elapsed=" + elapsed
+                    + "}";
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.jakemarsden.asteroids.headless;
+
+import com.jakemarsden.asteroids.metrics.GameMetrics;
+import com.jakemarsden.asteroids.model.GameWorld;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Shows how the difficulty curve affects a game, by playing the same set of seeded computer-controlled games once for
+ * each asteroidSpawnDecay to be compared, all at once on a MultiWorldEngine. The games are stepped together a block of
+ * updates at a time, and after each block the average state of the games for each setting is printed, so the curve
+ * can be followed as the games go on.
+ * <p/>
+ * Usage: DifficultySweep &lt;first seed&gt; &lt;games per setting&gt; &lt;updates&gt; &lt;decay&gt; [&lt;decay&gt;...]
+ *
+ * @author jakemarsden
+ */
+public class DifficultySweep {
+
+    private static final float WIDTH = 1280;
+    private static final float HEIGHT = 720;
+    /*
+     * How many updates to perform between each report. At 40 updates per second, this is every 30 seconds of game time.
+     */
+    private static final int REPORT_PERIOD = 1200;
+
+    private DifficultySweep() {
+        throw new UnsupportedOperationException();
+    }
+
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        if (args.length < 4) {
+            System.err.println("Usage: " + DifficultySweep.class.getSimpleName() + " <first seed> <games per setting> <updates> <decay> [<decay>...]");
+            System.exit(1);
+        }
+        final long firstSeed = Long.parseLong(args[0]);
+        final int games = Integer.parseInt(args[1]);
+        final int updates = Integer.parseInt(args[2]);
+        final float[] decays = new float[args.length - 3];
+        for (int i = 0; i < decays.length; i++) {
+            decays[i] = Float.parseFloat(args[i + 3]);
+        }
+
+        // World i*games+j plays seed j with decay i
+        final MultiWorldEngine engine = new MultiWorldEngine(Runtime.getRuntime().availableProcessors());
+        for (int i = 0; i < decays.length; i++) {
+            for (int j = 0; j < games; j++) {
+                final GameWorld world = MultiWorldEngine.createAIWorld(firstSeed + j, WIDTH, HEIGHT);
+                world.asteroidSpawnDecay = decays[i];
+                engine.addWorld(world);
+            }
+        }
+
+        try {
+            System.out.println(String.format("%8s %10s %10s %10s %10s %12s %12s",
+                    "update", "decay", "spawnProb", "asteroids", "score", "updates/s", "p99 update"));
+            int performed = 0;
+            while (performed < updates) {
+                final int block = Math.min(REPORT_PERIOD, updates - performed);
+                engine.step(block);
+                performed += block;
+
+                for (int i = 0; i < decays.length; i++) {
+                    double spawnProbability = 0, asteroids = 0, score = 0, updatesPerSecond = 0, p99 = 0;
+                    for (int j = 0; j < games; j++) {
+                        final int index = i * games + j;
+                        final GameWorld world = engine.getWorld(index);
+                        spawnProbability += world.asteroidSpawnProbability;
+                        asteroids += world.asteroids.size();
+                        score += world.score;
+                        updatesPerSecond += engine.getStats(index).getUpdatesPerSecond();
+                        p99 += world.metrics.getHistogram(GameMetrics.Phase.UPDATE).getValueAtPercentile(99);
+                    }
+                    System.out.println(String.format("%8d %10.0f %10.1f %10.1f %10.1f %12.0f %10.3fms",
+                            performed, decays[i], spawnProbability / games, asteroids / games, score / games,
+                            updatesPerSecond / games, p99 / games / 1e6));
+                }
+            }
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
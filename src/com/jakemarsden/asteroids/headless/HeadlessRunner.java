@@ -0,0 +1,103 @@
+package com.jakemarsden.asteroids.headless;
+
+import com.jakemarsden.asteroids.model.GameWorld;
+import com.jakemarsden.asteroids.model.NullAudioController;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+/**
+ * Runs a game on a plain JVM, with no screen, no sound and no GameLoop. The player is controlled by the computer and
+ * the game is updated as fast as possible for a set number of updates, after which the number of updates per second
+ * is reported. As the game is seeded and the AIPlayer times itself in updates, two runs with the same arguments play
+ * exactly the same game, so this can be used to compare the speed of the game before and after a change without
+ * needing a device. The GameWorld's metrics are printed at the end, to show where the time went.
+ * <p/>
+ * Usage: HeadlessRunner &lt;seed&gt; &lt;updates&gt; [&lt;width&gt; &lt;height&gt;]
+ *
+ * @author jakemarsden
+ */
+public class HeadlessRunner {
+
+    /*
+     * The size of the "screen" to use if none is specified. Roughly the size of a typical phone in landscape.
+     */
+    private static final float DEF_WIDTH = 1280;
+    private static final float DEF_HEIGHT = 720;
+
+
+    private final GameWorld world;
+
+    private boolean gameEnded = false;
+
+
+    /*
+     * @param seed The seed to use for the game's random generator.
+     * @param width The width of the screen the game is played on.
+     * @param height The height of the screen the game is played on.
+     */
+    public HeadlessRunner(long seed, float width, float height) {
+        world = new GameWorld(new NullAudioController(), seed, true);
+        world.setOnGameEndListener(new GameWorld.OnGameEndListener() {
+            @Override
+            public void onGameEnd(int finalScore) {
+                gameEnded = true;
+            }
+        });
+        world.onViewCreated(0, 0, width, height);
+    }
+
+
+    /*
+     * Updates the game until either the requested number of updates have been performed or the game has ended.
+     * @param updates The maximum number of updates to perform.
+     * @return How many updates were actually performed.
+     */
+    public int run(int updates) {
+        int performed = 0;
+        while (performed < updates && !gameEnded) {
+            world.onGameUpdate();
+            performed++;
+        }
+        return performed;
+    }
+
+    public GameWorld getWorld() {
+        return world;
+    }
+
+    public boolean hasGameEnded() {
+        return gameEnded;
+    }
+
+
+    public static void main(String[] args) {
+        if (args.length != 2 && args.length != 4) {
+            System.err.println("Usage: " + HeadlessRunner.class.getSimpleName() + " <seed> <updates> [<width> <height>]");
+            System.exit(1);
+        }
+        final long seed = Long.parseLong(args[0]);
+        final int updates = Integer.parseInt(args[1]);
+        final float width = args.length == 4 ? Float.parseFloat(args[2]) : DEF_WIDTH;
+        final float height = args.length == 4 ? Float.parseFloat(args[3]) : DEF_HEIGHT;
+
+        final HeadlessRunner runner = new HeadlessRunner(seed, width, height);
+        final long startTime = System.nanoTime();
+        final int performed = runner.run(updates);
+        final long elapsed = System.nanoTime() - startTime;
+
+        final GameWorld world = runner.getWorld();
+        System.out.println("updates:         " + performed + (runner.hasGameEnded() ? " (game ended)" : ""));
+        System.out.println("elapsed:         " + (elapsed / 1000000) + "ms");
+        System.out.println("updates/second:  " + (elapsed == 0 ? "-" : String.valueOf((long) (performed * 1e9 / elapsed))));
+        System.out.println("score:           " + world.score);
+        System.out.println("asteroids:       " + world.asteroids.size());
+        System.out.println("projectiles:     " + world.projectiles.size());
+        System.out.println();
+        try {
+            world.metrics.dump(new OutputStreamWriter(System.out));
+        } catch (IOException err) {
+            System.err.println("Failed to write metrics: " + err);
+        }
+    }
+}
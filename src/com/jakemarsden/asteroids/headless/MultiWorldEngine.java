@@ -0,0 +1,199 @@
+package com.jakemarsden.asteroids.headless;
+
+import com.jakemarsden.asteroids.model.GameWorld;
+import com.jakemarsden.asteroids.model.NullAudioController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts any number of independent GameWorlds and updates them all at once, spread across a pool of threads, with no
+ * screen, no sound and no GameLoop. Each GameWorld already owns everything it touches during an update (its own seeded
+ * random generator, its own game objects, pools and buffers), so no two worlds share any state and they can be updated
+ * side by side without any locking. Each world is only ever updated by one thread at a time.
+ * <p/>
+ * Rather than handing each thread a fixed share of the worlds, the threads take the next world which hasn't been
+ * updated yet whenever they finish one. Worlds full of Asteroids take much longer to update than empty ones, so this
+ * keeps every thread busy until the very end of each step.
+ * <p/>
+ * How many updates each world has performed, and how long it spent updating, is kept for each world. How long each
+ * individual update took is recorded in the world's own metrics as usual.
+ *
+ * @author jakemarsden
+ */
+public class MultiWorldEngine {
+
+    private final ExecutorService executor;
+
+    private final int threads;
+
+    private final List<GameWorld> worlds = new ArrayList<GameWorld>();
+
+    private final List<WorldStats> stats = new ArrayList<WorldStats>();
+
+
+    /*
+     * @param threads How many worlds may be updated at the same time.
+     */
+    public MultiWorldEngine(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Must use at least 1 thread: " + threads);
+        }
+        this.threads = threads;
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+
+    /*
+     * Creates a world with an AIPlayer and no sound, ready to be added to an engine.
+     * @param seed The seed to use for the world's random generator.
+     * @param width The width of the "screen" the game is played on.
+     * @param height The height of the "screen" the game is played on.
+     */
+    public static GameWorld createAIWorld(long seed, float width, float height) {
+        final GameWorld world = new GameWorld(new NullAudioController(), seed, true);
+        world.onViewCreated(0, 0, width, height);
+        return world;
+    }
+
+
+    /*
+     * Adds a world for the engine to update. Must not be called while step() is running.
+     * @param world A world which is ready to be updated, i.e. onViewCreated() has already been called. It must not be
+     *          updated by anything else while it belongs to the engine.
+     * @return The index of the world within the engine.
+     */
+    public int addWorld(GameWorld world) {
+        worlds.add(world);
+        stats.add(new WorldStats());
+        return worlds.size() - 1;
+    }
+
+    /*
+     * Updates every world which hasn't finished by up to the specified number of updates, blocking until they've all
+     * been updated. A world stops early if its game finishes.
+     * @param updates The maximum number of updates to perform on each world.
+     */
+    public void step(final int updates) throws InterruptedException, ExecutionException {
+        final AtomicInteger nextWorld = new AtomicInteger(0);
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(threads);
+        for (int i = 0; i < Math.min(threads, worlds.size()); i++) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    int index;
+                    while ((index = nextWorld.getAndIncrement()) < worlds.size()) {
+                        stepWorld(worlds.get(index), stats.get(index), updates);
+                    }
+                    return null;
+                }
+            });
+        }
+
+        // Waiting on each Future also makes sure that everything the pool's threads did to the worlds is visible to
+        // this thread afterwards.
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+            future.get();
+        }
+    }
+
+    /*
+     * Stops the engine's threads. The engine can't be stepped again afterwards.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+
+    public int getWorldCount() {
+        return worlds.size();
+    }
+
+    public GameWorld getWorld(int index) {
+        return worlds.get(index);
+    }
+
+    /*
+     * @return The statistics for the world at the index. Only valid while step() isn't running.
+     */
+    public WorldStats getStats(int index) {
+        return stats.get(index);
+    }
+
+
+    private static void stepWorld(GameWorld world, WorldStats stats, int updates) {
+        for (int i = 0; i < updates && !world.hasGameFinished(); i++) {
+            final long startTime = System.nanoTime();
+            world.onGameUpdate();
+            final long elapsed = System.nanoTime() - startTime;
+
+            stats.updates++;
+            stats.busyTime += elapsed;
+            if (elapsed > stats.maxUpdateTime) {
+                stats.maxUpdateTime = elapsed;
+            }
+        }
+    }
+
+
+    /*
+     * How much work the engine has done on a single world.
+     */
+    public static class WorldStats {
+
+        private long updates = 0;
+
+        private long busyTime = 0;
+
+        private long maxUpdateTime = 0;
+
+
+        /*
+         * @return How many updates the engine has performed on the world.
+         */
+        public long getUpdates() {
+            return updates;
+        }
+
+        /*
+         * @return How long, in nanoseconds, the engine has spent updating the world.
+         */
+        public long getBusyTime() {
+            return busyTime;
+        }
+
+        /*
+         * @return How long, in nanoseconds, the slowest single update of the world took.
+         */
+        public long getMaxUpdateTime() {
+            return maxUpdateTime;
+        }
+
+        /*
+         * @return How many updates per second the world was updated at while it was being updated, or 0 if it hasn't
+         *          been updated yet.
+         */
+        public double getUpdatesPerSecond() {
+            return busyTime == 0 ? 0 : updates * 1e9 / busyTime;
+        }
+
+
+        /*
+         * @return A human-readable string representing this class. Useful for debugging
+         */
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{"
+                    + "updates=" + updates + ", "
+                    + "busyTime=" + busyTime + ", "
+                    + "maxUpdateTime=" + maxUpdateTime
+                    + "}";
+        }
+    }
+}
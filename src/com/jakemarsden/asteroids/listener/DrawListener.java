@@ -8,5 +8,11 @@ package com.jakemarsden.asteroids.listener;
  */
 public interface DrawListener {
 
-    public boolean onGameRedraw();
+    /*
+     * @param interpolation How far the game is between its last update and its next one, in the range [0, 1). Objects
+     *          should be drawn this far along their current paths, so that they move smoothly even when the game is
+     *          drawn more often than it's updated. This will always be 0 unless the GameLoop is interpolating.
+     * @return True if the game was drawn.
+     */
+    public boolean onGameRedraw(float interpolation);
 }
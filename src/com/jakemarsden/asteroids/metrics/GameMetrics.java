@@ -0,0 +1,151 @@
+package com.jakemarsden.asteroids.metrics;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Records how long each phase of updating and drawing the game takes, along with how many game objects there were at
+ * the time. Each phase has its own Histogram of timings in nanoseconds, so it's easy to see which phase is to blame
+ * when an update or draw runs over budget.
+ * <p/>
+ * The updating and drawing threads record into this at the same time as anything else (a debug overlay, for example)
+ * reads from it. None of this ever locks.
+ *
+ * @author jakemarsden
+ */
+public class GameMetrics {
+
+    private static final double NANOS_PER_MILLI = 1000000d;
+
+
+    private final Histogram[] histograms = new Histogram[Phase.values().length];
+
+    private final AtomicIntegerArray gauges = new AtomicIntegerArray(Gauge.values().length);
+
+
+    public GameMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+    }
+
+
+    /*
+     * @param phase The phase which was timed.
+     * @param nanos How long the phase took, in nanoseconds.
+     */
+    public void record(Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    public Histogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    public void setGauge(Gauge gauge, int value) {
+        gauges.set(gauge.ordinal(), value);
+    }
+
+    public int getGauge(Gauge gauge) {
+        return gauges.get(gauge.ordinal());
+    }
+
+    /*
+     * Forgets every recorded timing. The gauges are left as they are.
+     */
+    public void reset() {
+        for (Histogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+
+    /*
+     * Writes a table of every phase's timings, in milliseconds, followed by every gauge.
+     * @param out Where to write the table to. This isn't closed afterwards.
+     */
+    public void dump(Writer out) throws IOException {
+        final PrintWriter writer = new PrintWriter(out);
+        writer.println(String.format("%-15s %8s %8s %8s %8s %8s", "phase (ms)", "count", "p50", "p99", "p99.9", "max"));
+        for (Phase phase : Phase.values()) {
+            final Histogram histogram = getHistogram(phase);
+            writer.println(String.format("%-15s %8d %8.3f %8.3f %8.3f %8.3f",
+                    phase.label,
+                    histogram.getCount(),
+                    histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                    histogram.getMax() / NANOS_PER_MILLI
+            ));
+        }
+        for (Gauge gauge : Gauge.values()) {
+            writer.println(String.format("%-15s %8d", gauge.label, getGauge(gauge)));
+        }
+        writer.flush();
+        if (writer.checkError()) {
+            throw new IOException("Failed to write metrics");
+        }
+    }
+
+    /*
+     * Writes the same table as dump(Writer) to a file, replacing anything already in it.
+     */
+    public void dump(File file) throws IOException {
+        final Writer out = new FileWriter(file);
+        try {
+            dump(out);
+        } finally {
+            out.close();
+        }
+    }
+
+
+    /*
+     * The parts of an update or a draw which are timed separately. UPDATE and DRAW are the totals. INPUT_LATENCY isn't
+     * part of either: it's how long each InputEvent waited between being given to the GameWorld and being handled.
+     * DRAW_PLAYER is only recorded when the game world is drawn straight onto the Canvas, not when it's batched.
+     */
+    public enum Phase {
+
+        INPUT("input"),
+        GRID("grid"),
+        PLAYER("player"),
+        PROJECTILES("projectiles"),
+        ASTEROIDS("asteroids"),
+        SPAWN("spawn"),
+        PUBLISH("publish"),
+        UPDATE("update"),
+        LOCK_CANVAS("lockCanvas"),
+        DRAW_PLAYER("drawPlayer"),
+        DRAW("draw"),
+        INPUT_LATENCY("inputLatency");
+
+
+        public final String label;
+
+
+        private Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    public enum Gauge {
+
+        ASTEROIDS("asteroids"),
+        PROJECTILES("projectiles"),
+        INPUT_DROPPED("inputDropped"),
+        INPUT_COALESCED("inputCoalesced");
+
+
+        public final String label;
+
+
+        private Gauge(String label) {
+            this.label = label;
+        }
+    }
+}
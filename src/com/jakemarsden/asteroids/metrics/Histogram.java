@@ -0,0 +1,152 @@
+package com.jakemarsden.asteroids.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts how often values (generally durations in nanoseconds) of different sizes are recorded, so that percentiles
+ * can be read back later. Like an HdrHistogram, each power of two is split into a number of equally-sized buckets, so
+ * the size of each bucket grows with the values it holds and every value is stored with roughly the same relative
+ * precision (within about 3%) no matter how small or large it is.
+ * <p/>
+ * Recording a value never locks or allocates, so one thread can record values while others read the histogram. The
+ * percentiles read while values are still being recorded may be very slightly out of date, which is fine for metrics.
+ *
+ * @author jakemarsden
+ */
+public class Histogram {
+
+    /*
+     * Each power of two is split into 2^(SUB_BUCKET_BITS - 1) buckets. Values below 2^SUB_BUCKET_BITS each get a
+     * bucket of their own.
+     */
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    /*
+     * The largest value which can be recorded. Anything larger is recorded as this. 2^40 nanoseconds is about 18
+     * minutes, which is far longer than anything we'd ever want to time.
+     */
+    private static final long MAX_VALUE = (1L << 40) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(bucketIndex(MAX_VALUE) + 1);
+
+    private final AtomicLong totalCount = new AtomicLong();
+
+    private final AtomicLong totalValue = new AtomicLong();
+
+    private final AtomicLong maxValue = new AtomicLong();
+
+
+    public Histogram() {
+    }
+
+
+    /*
+     * @param value The value to record. Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        value = Math.max(0, Math.min(MAX_VALUE, value));
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(value);
+
+        long max = maxValue.get();
+        while (value > max && !maxValue.compareAndSet(max, value)) {
+            max = maxValue.get();
+        }
+    }
+
+    /*
+     * Removes every recorded value. Values recorded at the same time as the reset may or may not be kept.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalValue.set(0);
+        maxValue.set(0);
+    }
+
+
+    /*
+     * @return How many values have been recorded.
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /*
+     * @return The mean of every recorded value, or 0 if nothing has been recorded yet.
+     */
+    public double getMean() {
+        final long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalValue.get() / count;
+    }
+
+    /*
+     * @param percentile In the range [0, 100]. For example, 99 gives the value which 99% of recorded values are less
+     *          than or equal to.
+     * @return The value at the given percentile, rounded up to the largest value in its bucket, or 0 if nothing has
+     *          been recorded yet.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(count * Math.min(100, percentile) / 100d));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueInBucket(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // Keep the top SUB_BUCKET_BITS bits of the value. The highest of these is always set, so only the rest are
+        // needed to tell the buckets of each power of two apart.
+        final int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        final int subBucket = (int) (value >> shift) - SUB_BUCKET_HALF_COUNT;
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + subBucket;
+    }
+
+    private static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        final long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+
+    /*
+     * @return A human-readable string representing this class. Useful for debugging
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{"
+                + "count=" + getCount() + ", "
+                + "p50=" + getValueAtPercentile(50) + ", "
+                + "p99=" + getValueAtPercentile(99) + ", "
+                + "max=" + getMax()
+                + "}";
+    }
+}
@@ -1,18 +1,24 @@
 package com.jakemarsden.asteroids.model;
 
-import android.graphics.RectF;
 import com.jakemarsden.asteroids.InputEvent;
+import com.jakemarsden.asteroids.util.Vector2;
 
 /**
  * @author jakemarsden
  */
 public class AIPlayer extends Player {
 
-    private static final long MIN_PROJECTILE_PERIOD = 300;
     /*
-     * How long, in milliseconds, we're allowed to stick with the same target before checking it's still the best choice.
+     * How many updates must pass between each projectile we fire. Timing ourselves in updates rather than in real time
+     * means we behave the same however fast the game is run, and that a game can be played again exactly from its seed.
+     * At the GameLoop's default 40 updates per second, this is 300ms.
      */
-    private static final long TARGET_PERIOD = 1000;
+    private static final long MIN_PROJECTILE_PERIOD = 12;
+    /*
+     * How many updates we're allowed to stick with the same target for before checking it's still the best choice.
+     * At the GameLoop's default 40 updates per second, this is 1 second.
+     */
+    private static final long TARGET_PERIOD = 40;
 
     /*
      * If the player is somewhere between pointing directly at its target and pointing FOLLOW_MARGIN radians ahead of
@@ -21,17 +27,23 @@ public class AIPlayer extends Player {
     private static final double FOLLOW_MARGIN = Math.toRadians(10);
 
     /*
-     * The time, in milliseconds, when we will next be allowed to fire a projectile.
+     * The update at which we will next be allowed to fire a projectile.
+     */
+    private long nextProjectileUpdate = 0;
+    /*
+     * The update at which we will next have to confirm our current target is the optimal choice.
      */
-    private long nextProjectileTime = System.currentTimeMillis();
+    private long nextTargetUpdate = 0;
     /*
-     * The time, in milliseconds, at which we will next have to confirm our current target is the optimal choice.
+     * The index of the Asteroid we're currently trying to hunt down and destroy, or -1 if we don't currently have a
+     * target.
      */
-    private long nextTargetTime = System.currentTimeMillis();
+    public int currentTarget = -1;
     /*
-     * The Asteroid we're currently trying to hunt down and destroy, or null if we don't currently have a target.
+     * Where we need to aim to hit the current target, relative to our own position. Reused every update so that a new
+     * Vector2 doesn't need to be created each time.
      */
-    public Asteroid currentTarget = null;
+    private final Vector2 aimPoint = new Vector2();
 
 
     public AIPlayer() {
@@ -41,23 +53,21 @@ public class AIPlayer extends Player {
     @Override
     public void update(GameWorld world) {
         super.update(world);
-        final long time = System.currentTimeMillis();
+        final long update = world.getUpdateCount();
 
-        if (currentTarget != null && !currentTarget.isAlive) {
+        if (currentTarget != -1 && !world.asteroids.isAlive(currentTarget)) {
             // The current target is now invalid
-            currentTarget = null;
+            currentTarget = -1;
         }
-        if (currentTarget == null || time >= nextTargetTime) {
+        if (currentTarget == -1 || update >= nextTargetUpdate) {
             // Find a new target
             currentTarget = findTarget(world);
-            nextTargetTime = time + TARGET_PERIOD;
+            nextTargetUpdate = update + TARGET_PERIOD;
         }
-        if (currentTarget != null) {
-            // We have a target, now lets try to hit it
-            double ang = Math.atan2(
-                    currentTarget.position.getCentreY() - position.getCentreY(),
-                    currentTarget.position.getCentreX() - position.getCentreX()
-            );
+        if (currentTarget != -1) {
+            // We have a target, now lets try to hit it. Aim for where it's going to be rather than where it is now.
+            computeAimPoint(world.asteroids, currentTarget, aimPoint);
+            double ang = Math.atan2(aimPoint.y, aimPoint.x);
             while (ang < 0) {
                 ang += 2d * Math.PI; // format the angle so we can actually use it
             }
@@ -65,17 +75,17 @@ public class AIPlayer extends Player {
             double angDifference = angle - ang;
             if (angDifference >= -FOLLOW_MARGIN / 2d && angDifference <= FOLLOW_MARGIN / 2d) {
                 // We're pointing roughly towards the target. FIRE!
-                world.onUserInput(InputEvent.STOP_PLAYER_ROTATION);
-                if (time >= nextProjectileTime) {
-                    nextProjectileTime = time + MIN_PROJECTILE_PERIOD;
-                    world.onUserInput(InputEvent.FIRE_PROJECTILE);
+                world.onAIInput(InputEvent.STOP_PLAYER_ROTATION);
+                if (update >= nextProjectileUpdate) {
+                    nextProjectileUpdate = update + MIN_PROJECTILE_PERIOD;
+                    world.onAIInput(InputEvent.FIRE_PROJECTILE);
                 }
             } else {
                 // Need to rotate so we're pointing at the target.
                 if (angDifference < -FOLLOW_MARGIN / 2d) {
-                    world.onUserInput(InputEvent.START_PLAYER_ROTATION_RIGHT);
+                    world.onAIInput(InputEvent.START_PLAYER_ROTATION_RIGHT);
                 } else {
-                    world.onUserInput(InputEvent.START_PLAYER_ROTATION_LEFT);
+                    world.onAIInput(InputEvent.START_PLAYER_ROTATION_LEFT);
                 }
             }
         }
@@ -83,26 +93,76 @@ public class AIPlayer extends Player {
 
 
     /*
-     * Finds the best possible Asteroid for us to try to hit.
-     * @param world
-     * @return The best Asteroid for us to try to hit, or null if no targets are available.
+     * Our target is an index, so it needs to follow its Asteroid around as dead Asteroids are removed.
      */
-    private Asteroid findTarget(GameWorld world) {
-        Asteroid closestTarget = null;
-        double closestDistance = Double.MAX_VALUE;
-        for (Asteroid asteroid : world.asteroids) {
-            final RectF asteroidBounds = asteroid.position.getBounds();
-            if (asteroidBounds.right > world.screenBounds.left
-                    && asteroidBounds.left < world.screenBounds.right
-                    && asteroidBounds.bottom > world.screenBounds.top
-                    && asteroidBounds.top < world.screenBounds.bottom) {
-                final double distance = Math.hypot(asteroid.position.getCentreX() - position.getCentreX(), asteroid.position.getCentreY() - position.getCentreY());
-                if (distance < closestDistance) {
-                    closestDistance = distance;
-                    closestTarget = asteroid;
+    @Override
+    public void onAsteroidRemoved(int i) {
+        if (currentTarget == i) {
+            currentTarget = -1;
+        }
+    }
+
+    @Override
+    public void onAsteroidMoved(int from, int to) {
+        if (currentTarget == from) {
+            currentTarget = to;
+        }
+    }
+
+
+    /*
+     * Works out where to aim so that a Projectile fired now will meet the Asteroid, assuming neither of us changes
+     * course. Any FIRE_PROJECTILE we send isn't handled until the start of the next update, by which time both of us
+     * will have moved once more, so the positions are taken one update ahead. Relative to us, the Projectile starts
+     * getProjectileSpawnDistance() away and travels outwards at PROJECTILE_SPEED, while the Asteroid drifts at the
+     * difference between our velocities, so we need the first time t at which
+     *     |d + v*t| = m + s*t
+     * which is a quadratic in t. If there is no such time (the Asteroid is too fast to catch), we just aim straight at
+     * it.
+     * @param asteroids The Asteroids in the game.
+     * @param target The index of the Asteroid to hit.
+     * @param result Where to aim, relative to our own position.
+     */
+    void computeAimPoint(AsteroidStore asteroids, int target, Vector2 result) {
+        final double vx = asteroids.getVelocityX(target) - velocity.x;
+        final double vy = asteroids.getVelocityY(target) - velocity.y;
+        final double dx = asteroids.getX(target) - position.getCentreX() + vx;
+        final double dy = asteroids.getY(target) - position.getCentreY() + vy;
+        final double s = PROJECTILE_SPEED;
+        final double m = getProjectileSpawnDistance();
+
+        final double a = vx * vx + vy * vy - s * s;
+        final double b = 2 * (dx * vx + dy * vy - m * s);
+        final double c = dx * dx + dy * dy - m * m;
+
+        double t = 0;
+        if (c > 0) {
+            if (Math.abs(a) < 1e-9) {
+                // The Asteroid is exactly as fast as our Projectiles, so the equation is linear
+                if (b < 0) {
+                    t = -c / b;
+                }
+            } else {
+                final double discriminant = b * b - 4 * a * c;
+                if (discriminant >= 0) {
+                    final double root = Math.sqrt(discriminant);
+                    final double t1 = (-b - root) / (2 * a), t2 = (-b + root) / (2 * a);
+                    final double first = Math.min(t1, t2), second = Math.max(t1, t2);
+                    t = first > 0 ? first : (second > 0 ? second : 0);
                 }
             }
         }
-        return closestTarget;
+        result.set((float) (dx + vx * t), (float) (dy + vy * t));
+    }
+
+    /*
+     * Finds the best possible Asteroid for us to try to hit, which is the closest one that's at least partly on the
+     * screen. The GameWorld's AsteroidGrid already knows roughly where every Asteroid is, so only the cells around us
+     * need to be searched. Package-private so that it can be benchmarked on its own.
+     * @param world
+     * @return The index of the best Asteroid for us to try to hit, or -1 if no targets are available.
+     */
+    int findTarget(GameWorld world) {
+        return world.asteroidGrid.findNearest(position.getCentreX(), position.getCentreY(), world.screenBounds);
     }
 }
@@ -1,12 +1,13 @@
 package com.jakemarsden.asteroids.model;
 
-import android.graphics.PointF;
-import android.graphics.RectF;
 import com.jakemarsden.asteroids.util.Random;
+import com.jakemarsden.asteroids.util.Rectangle;
+import com.jakemarsden.asteroids.util.Vector2;
 
 /**
  * This class represents an object which will spawn randomly for the user to try to avoid and destroy. It defines only
- * the object's state and behaviour and says nothing about its appearance to the user.
+ * the object's state and behaviour and says nothing about its appearance to the user. Asteroids are only used like this
+ * by AsteroidObjectStore; AsteroidArrayStore keeps the same state in arrays instead.
  *
  * @author jakemarsden
  */
@@ -19,11 +20,11 @@ public class Asteroid {
     /*
      * The [x,y] velocity of this Asteroid, which will be added to position after each update.
      */
-    public PointF velocity = new PointF();
+    public Vector2 velocity = new Vector2();
     /*
-     * The size of the Asteroid. This cannot be changed once set.
+     * The size of the Asteroid. This only changes when the Asteroid is recycled (see reset()).
      */
-    public final Size size;
+    public Size size;
     /*
      * If set to false, this asteroid will soon be removed from the game.
      */
@@ -39,6 +40,27 @@ public class Asteroid {
         this.size = size;
     }
 
+    /*
+     * @param position The shape and location of the new Asteroid.
+     */
+    public Asteroid(Polygon position, Size size) {
+        this.position = position;
+        this.size = size;
+    }
+
+
+    /*
+     * Brings a dead Asteroid back to life with a new shape, size and velocity, as if it had just been created. This lets
+     * AsteroidObjectStore reuse the Asteroids which die instead of creating new ones.
+     * @param shape The new shape, which is shared rather than copied. See Polygon.setShape().
+     */
+    void reset(float centreX, float centreY, PolygonShape shape, Size size, float velocityX, float velocityY) {
+        position.setShape(centreX, centreY, shape);
+        velocity.set(velocityX, velocityY);
+        this.size = size;
+        isAlive = true;
+    }
+
 
     /*
      * Moves this asteroid based on its velocity.
@@ -59,7 +81,7 @@ public class Asteroid {
      */
     @Override
     public String toString() {
-        final RectF bounds = position.getBounds();
+        final Rectangle bounds = position.getBounds();
         return getClass().getSimpleName() + "{"
                 + "position=[" + bounds.left + "," + bounds.top + "," + bounds.right + "," + bounds.bottom + "], "
                 + "velocity=[" + velocity.x + "," + velocity.y + "], "
@@ -78,9 +100,9 @@ public class Asteroid {
         LARGE(60, 90, 234);
 
 
-        private final float minInternalRadius;
+        public final float minInternalRadius;
 
-        private final float maxExternalRadius;
+        public final float maxExternalRadius;
 
         public final float mass;
 
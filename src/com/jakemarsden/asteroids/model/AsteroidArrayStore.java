@@ -0,0 +1,364 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.Rectangle;
+
+import java.util.Arrays;
+
+/**
+ * An AsteroidStore which keeps the state of all Asteroids in parallel arrays of primitives, one element per Asteroid,
+ * rather than each Asteroid being an object of its own (with its own Vector2 for velocity and its own Polygon). Each
+ * Asteroid refers to its shape (see PolygonShape), which is shared rather than copied, but its boundaries and bounding
+ * radius are copied into arrays of their own. This means moving the Asteroids and quickly rejecting collisions is a
+ * straight run through a few arrays instead of hopping around the heap from object to object.
+ * See EntityStore.Layout.ARRAYS.
+ * <p/>
+ * The collision tests share their sums with Polygon, so they give exactly the same answers.
+ *
+ * @author jakemarsden
+ */
+public class AsteroidArrayStore extends AsteroidStore {
+
+    /*
+     * The [x,y] location of the centre of each Asteroid on the screen.
+     */
+    private float[] centreX, centreY;
+    /*
+     * The [x,y] velocity of each Asteroid, which will be added to its centre after each update.
+     */
+    private float[] velocityX, velocityY;
+    /*
+     * The distance from the centre of each Asteroid to its furthest vertex.
+     */
+    private float[] radius;
+    /*
+     * The boundaries of each Asteroid, relative to its centre, for quick collision rejection.
+     */
+    private float[] boundsLeft, boundsTop, boundsRight, boundsBottom;
+
+    private Asteroid.Size[] sizes;
+    /*
+     * False for any Asteroid which will soon be removed from the game.
+     */
+    private boolean[] alive;
+    /*
+     * The shape of each Asteroid, relative to its centre.
+     */
+    private PolygonShape[] shapes;
+
+
+    public AsteroidArrayStore() {
+        this(DEF_CAPACITY);
+    }
+
+    /*
+     * @param capacity How many Asteroids to make room for up-front.
+     */
+    public AsteroidArrayStore(int capacity) {
+        centreX = new float[capacity];
+        centreY = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        radius = new float[capacity];
+        boundsLeft = new float[capacity];
+        boundsTop = new float[capacity];
+        boundsRight = new float[capacity];
+        boundsBottom = new float[capacity];
+        sizes = new Asteroid.Size[capacity];
+        alive = new boolean[capacity];
+        shapes = new PolygonShape[capacity];
+    }
+
+
+    @Override
+    public float getX(int i) {
+        return centreX[i];
+    }
+
+    @Override
+    public float getY(int i) {
+        return centreY[i];
+    }
+
+    @Override
+    public float getVelocityX(int i) {
+        return velocityX[i];
+    }
+
+    @Override
+    public float getVelocityY(int i) {
+        return velocityY[i];
+    }
+
+    @Override
+    public float getRadius(int i) {
+        return radius[i];
+    }
+
+    @Override
+    public Asteroid.Size getSize(int i) {
+        return sizes[i];
+    }
+
+    @Override
+    public boolean isAlive(int i) {
+        return alive[i];
+    }
+
+    @Override
+    public void kill(int i) {
+        alive[i] = false;
+    }
+
+    @Override
+    public void setVelocity(int i, float x, float y) {
+        velocityX[i] = x;
+        velocityY[i] = y;
+    }
+
+
+    @Override
+    public PolygonShape getShape(int i) {
+        return shapes[i];
+    }
+
+    @Override
+    public int getVertexCount(int i) {
+        return shapes[i].vertexCount;
+    }
+
+    @Override
+    public float getVertexX(int i, int v) {
+        return shapes[i].vertices[2 * v] + centreX[i];
+    }
+
+    @Override
+    public float getVertexY(int i, int v) {
+        return shapes[i].vertices[2 * v + 1] + centreY[i];
+    }
+
+    @Override
+    public Rectangle getBounds(int i, Rectangle result) {
+        result.set(boundsLeft[i] + centreX[i], boundsTop[i] + centreY[i], boundsRight[i] + centreX[i], boundsBottom[i] + centreY[i]);
+        return result;
+    }
+
+
+    @Override
+    public boolean overlaps(int i, float testX, float testY, float testRadius, boolean useQuickRejection) {
+        if (useQuickRejection && quickRejectOverlappingBoundaries(i, testX - testRadius, testY - testRadius, testX + testRadius, testY + testRadius)) {
+            // Boundaries of circle don't overlap boundaries of Asteroid so the Asteroid can't overlap the circle.
+            return false;
+        } else if (contains(i, testX, testY, false)) {
+            // Contains the centre point so the Asteroid must overlap the circle.
+            return true;
+        } else {
+            // Compare squared distances so we don't need to take any square roots.
+            final float radiusSquared = testRadius * testRadius;
+            final int count = shapes[i].vertexCount;
+            for (int v = 1; v < count; v++) {
+                if (distanceToEdgeSquared(i, v - 1, v, testX, testY) <= radiusSquared) {
+                    // Only ONE edge needs to cross the circle for an overlap.
+                    return true;
+                }
+            }
+            // Check if the last edge of the Asteroid crosses the circle.
+            return distanceToEdgeSquared(i, 0, count - 1, testX, testY) <= radiusSquared;
+        }
+    }
+
+    @Override
+    public boolean overlaps(int i, Polygon testPoly, float[] testPolyVertices, Rectangle testPolyBounds, boolean useQuickRejection) {
+        if (useQuickRejection && quickRejectOverlappingBoundaries(i, testPolyBounds.left, testPolyBounds.top, testPolyBounds.right, testPolyBounds.bottom)) {
+            // Boundaries don't overlap so the Asteroid can't overlap the Polygon.
+            return false;
+        } else {
+            return Polygon.overlapsPieces(shapes[i].vertices, shapes[i].convexPieces, centreX[i], centreY[i],
+                    testPolyVertices, testPoly.getShape().convexPieces, 0, 0);
+        }
+    }
+
+    /*
+     * If the ith Asteroid contains the test point. See Polygon.contains(float, float, boolean).
+     */
+    private boolean contains(int i, float testX, float testY, boolean useQuickRejection) {
+        // Instead of adding the centre to every vertex, let's just subtract it from the test points.
+        testX -= centreX[i];
+        testY -= centreY[i];
+        if (useQuickRejection && (testX < boundsLeft[i]
+                || testY < boundsTop[i]
+                || testX > boundsRight[i]
+                || testY > boundsBottom[i])) {
+            return false;
+        } else {
+            return Polygon.contains(shapes[i].vertices, shapes[i].vertexCount, testX, testY);
+        }
+    }
+
+    /*
+     * Finds the square of the distance between [testX,testY] and the closest point to it which lies on the edge
+     * [vertex1,vertex2] of the ith Asteroid. See Polygon.distanceToEdgeSquared().
+     */
+    private double distanceToEdgeSquared(int i, int vertex1, int vertex2, float testX, float testY) {
+        return Polygon.distanceToEdgeSquared(shapes[i].vertices, vertex1, vertex2, centreX[i], centreY[i], testX, testY);
+    }
+
+    /*
+     * Quickly check if the test rectangle intersects with the boundaries of the ith Asteroid.
+     * @return False if the boundaries of the test rectangle intersect with the boundaries of the Asteroid.
+     */
+    private boolean quickRejectOverlappingBoundaries(int i, float left, float top, float right, float bottom) {
+        return left > boundsRight[i] + centreX[i]
+                || right < boundsLeft[i] + centreX[i]
+                || top > boundsBottom[i] + centreY[i]
+                || bottom < boundsTop[i] + centreY[i];
+    }
+
+
+    @Override
+    public void add(Polygon position, Asteroid.Size size, float velocityX, float velocityY) {
+        add(position.getCentreX(), position.getCentreY(), position.getShape(), size, velocityX, velocityY);
+    }
+
+    @Override
+    public void add(float centreX, float centreY, PolygonShape shape, Asteroid.Size size, float velocityX, float velocityY) {
+        if (this.size == this.centreX.length) {
+            grow();
+        }
+        final int i = this.size++;
+        this.centreX[i] = centreX;
+        this.centreY[i] = centreY;
+        this.velocityX[i] = velocityX;
+        this.velocityY[i] = velocityY;
+        radius[i] = shape.boundingRadius;
+        boundsLeft[i] = shape.bounds.left;
+        boundsTop[i] = shape.bounds.top;
+        boundsRight[i] = shape.bounds.right;
+        boundsBottom[i] = shape.bounds.bottom;
+        sizes[i] = size;
+        alive[i] = true;
+        shapes[i] = shape;
+    }
+
+    @Override
+    public void remove(int i) {
+        final int moved = size - i - 1;
+        System.arraycopy(centreX, i + 1, centreX, i, moved);
+        System.arraycopy(centreY, i + 1, centreY, i, moved);
+        System.arraycopy(velocityX, i + 1, velocityX, i, moved);
+        System.arraycopy(velocityY, i + 1, velocityY, i, moved);
+        System.arraycopy(radius, i + 1, radius, i, moved);
+        System.arraycopy(boundsLeft, i + 1, boundsLeft, i, moved);
+        System.arraycopy(boundsTop, i + 1, boundsTop, i, moved);
+        System.arraycopy(boundsRight, i + 1, boundsRight, i, moved);
+        System.arraycopy(boundsBottom, i + 1, boundsBottom, i, moved);
+        System.arraycopy(sizes, i + 1, sizes, i, moved);
+        System.arraycopy(alive, i + 1, alive, i, moved);
+        System.arraycopy(shapes, i + 1, shapes, i, moved);
+        shapes[--size] = null;
+    }
+
+    @Override
+    void move(int from, int to) {
+        centreX[to] = centreX[from];
+        centreY[to] = centreY[from];
+        velocityX[to] = velocityX[from];
+        velocityY[to] = velocityY[from];
+        radius[to] = radius[from];
+        boundsLeft[to] = boundsLeft[from];
+        boundsTop[to] = boundsTop[from];
+        boundsRight[to] = boundsRight[from];
+        boundsBottom[to] = boundsBottom[from];
+        sizes[to] = sizes[from];
+        alive[to] = alive[from];
+        shapes[to] = shapes[from];
+    }
+
+    @Override
+    void truncate(int newSize) {
+        Arrays.fill(shapes, newSize, size, null);
+        size = newSize;
+    }
+
+    @Override
+    void copyInto(AsteroidArrayStore target) {
+        if (target.centreX.length < size) {
+            target.grow(size);
+        }
+        System.arraycopy(centreX, 0, target.centreX, 0, size);
+        System.arraycopy(centreY, 0, target.centreY, 0, size);
+        System.arraycopy(velocityX, 0, target.velocityX, 0, size);
+        System.arraycopy(velocityY, 0, target.velocityY, 0, size);
+        System.arraycopy(radius, 0, target.radius, 0, size);
+        System.arraycopy(boundsLeft, 0, target.boundsLeft, 0, size);
+        System.arraycopy(boundsTop, 0, target.boundsTop, 0, size);
+        System.arraycopy(boundsRight, 0, target.boundsRight, 0, size);
+        System.arraycopy(boundsBottom, 0, target.boundsBottom, 0, size);
+        System.arraycopy(sizes, 0, target.sizes, 0, size);
+        System.arraycopy(alive, 0, target.alive, 0, size);
+        // The shapes are immutable, so they can be shared with the target.
+        System.arraycopy(shapes, 0, target.shapes, 0, size);
+        if (target.size > size) {
+            Arrays.fill(target.shapes, size, target.size, null);
+        }
+        target.size = size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(shapes, 0, size, null);
+        super.clear();
+    }
+
+
+    @Override
+    public void update(GameWorld world) {
+        for (int i = 0; i < size; i++) {
+            // Move
+            centreX[i] += velocityX[i];
+            centreY[i] += velocityY[i];
+
+            // Check if still in game
+            if (!world.worldBounds.contains(centreX[i], centreY[i])) {
+                alive[i] = false;
+            }
+        }
+    }
+
+
+    /*
+     * Doubles the length of each array, keeping the existing Asteroids.
+     */
+    private void grow() {
+        grow(Math.max(DEF_CAPACITY, centreX.length * 2));
+    }
+
+    /*
+     * Changes the length of each array, keeping the existing Asteroids.
+     */
+    private void grow(int capacity) {
+        centreX = Arrays.copyOf(centreX, capacity);
+        centreY = Arrays.copyOf(centreY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        radius = Arrays.copyOf(radius, capacity);
+        boundsLeft = Arrays.copyOf(boundsLeft, capacity);
+        boundsTop = Arrays.copyOf(boundsTop, capacity);
+        boundsRight = Arrays.copyOf(boundsRight, capacity);
+        boundsBottom = Arrays.copyOf(boundsBottom, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        shapes = Arrays.copyOf(shapes, capacity);
+    }
+
+
+    /*
+     * @return A human-readable string representing this class. Useful for debugging
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{"
+                + "size=" + size + ", "
+                + "capacity=" + centreX.length
+                + "}";
+    }
+}
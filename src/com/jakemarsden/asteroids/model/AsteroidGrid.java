@@ -0,0 +1,262 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.IntList;
+import com.jakemarsden.asteroids.util.Rectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A uniform grid of cells covering the game world, used to quickly find the Asteroids which could be touching a given
+ * area without having to test every Asteroid in the game. Each Asteroid is stored only in the cell containing its
+ * centre, and queries are widened by the radius of the largest Asteroid in the grid so that nothing which could
+ * overlap the area is missed. As each Asteroid lives in exactly one cell, it can only be returned once per query.
+ * <p/>
+ * Asteroids are referred to by their index in the AsteroidStore, so the grid must be rebuilt whenever Asteroids are
+ * removed from the store.
+ *
+ * @author jakemarsden
+ */
+public class AsteroidGrid {
+
+    /*
+     * The width and height of each cell. Ideally this should be around the size of the largest Asteroid so that most
+     * queries only need to look at a handful of cells.
+     */
+    private final float cellSize;
+    /*
+     * How many Asteroids each cell, and the list returned by query(), has room for before it needs to grow.
+     */
+    private final int capacity;
+    /*
+     * The Asteroids which the indices in the grid refer to.
+     */
+    private final AsteroidStore asteroids;
+    /*
+     * The area covered by the grid. Asteroids outside of this area are stored in the nearest cell along the edge.
+     */
+    private final Rectangle area = new Rectangle();
+    /*
+     * The cells of the grid, stored row by row. Each cell holds the indices of the Asteroids whose centre lies in it.
+     */
+    private final List<IntList> cells = new ArrayList<IntList>();
+    /*
+     * Reused by query() so that it doesn't need to allocate a new list every time it's called.
+     */
+    private final IntList queryResult;
+    /*
+     * Holds the boundaries of each Asteroid looked at by findNearest(), so that a new Rectangle isn't needed for each.
+     */
+    private final Rectangle asteroidBounds = new Rectangle();
+
+    private int columns = 0;
+
+    private int rows = 0;
+    /*
+     * The bounding radius of the largest Asteroid inserted since the grid was last cleared.
+     */
+    private float maxRadius = 0;
+
+
+    /*
+     * @param asteroids The Asteroids which the indices in the grid refer to.
+     * @param cellSize The width and height of each cell in the grid.
+     * @param capacity The most Asteroids expected in the grid at once. Each cell starts out with room for this many, so
+     *          that nothing needs to allocate however the Asteroids are bunched up.
+     */
+    public AsteroidGrid(AsteroidStore asteroids, float cellSize, int capacity) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.asteroids = asteroids;
+        this.cellSize = cellSize;
+        this.capacity = capacity;
+        queryResult = new IntList(capacity);
+    }
+
+
+    /*
+     * Sets the area for the grid to cover. This also removes everything from the grid.
+     * @param area The area to cover, which should generally be the boundaries of the game world.
+     */
+    public void setArea(Rectangle area) {
+        this.area.set(area);
+        columns = Math.max(1, (int) Math.ceil(area.width() / cellSize));
+        rows = Math.max(1, (int) Math.ceil(area.height() / cellSize));
+
+        cells.clear();
+        for (int i = 0; i < columns * rows; i++) {
+            cells.add(new IntList(capacity));
+        }
+        maxRadius = 0;
+    }
+
+    /*
+     * Removes every Asteroid from the grid. The cells themselves are kept so they can be reused.
+     */
+    public void clear() {
+        for (int i = 0; i < cells.size(); i++) {
+            cells.get(i).clear();
+        }
+        maxRadius = 0;
+    }
+
+    /*
+     * Adds the asteroid to the cell containing its centre. If the asteroid moves afterwards, the grid will need to be
+     * cleared and rebuilt to reflect its new position.
+     * @param i The index of the Asteroid to add.
+     */
+    public void insert(int i) {
+        final int column = column(asteroids.getX(i));
+        final int row = row(asteroids.getY(i));
+        cells.get(row * columns + column).add(i);
+
+        if (asteroids.getRadius(i) > maxRadius) {
+            maxRadius = asteroids.getRadius(i);
+        }
+    }
+
+    /*
+     * Finds every Asteroid which could possibly overlap the specified area. Some of the Asteroids returned may not
+     * actually overlap it, so a more accurate check should still be performed on each one.
+     * @param left The left edge of the area to search.
+     * @param top The top edge of the area to search.
+     * @param right The right edge of the area to search.
+     * @param bottom The bottom edge of the area to search.
+     * @return The indices of the Asteroids which could overlap the area. This list is reused, so it is only valid until
+     *          the next call to query() and must not be modified.
+     */
+    public IntList query(float left, float top, float right, float bottom) {
+        return query(left, top, right, bottom, queryResult);
+    }
+
+    /*
+     * The same as query(float, float, float, float), except the indices are written into the caller's own list.
+     * Nothing in the grid is changed by this, so it's safe for several threads to call this at once (each with its own
+     * list) as long as nothing is being inserted into the grid at the same time.
+     * @param result Where to put the indices. Anything already in the list is removed first.
+     * @return result.
+     */
+    public IntList query(float left, float top, float right, float bottom, IntList result) {
+        result.clear();
+        if (cells.isEmpty()) {
+            return result;
+        }
+
+        // An Asteroid whose centre lies just outside of the area could still reach into it.
+        final int firstColumn = column(left - maxRadius),
+                lastColumn = column(right + maxRadius),
+                firstRow = row(top - maxRadius),
+                lastRow = row(bottom + maxRadius);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                final IntList cell = cells.get(row * columns + column);
+                for (int i = 0; i < cell.size(); i++) {
+                    result.add(cell.get(i));
+                }
+            }
+        }
+        return result;
+    }
+
+    /*
+     * Finds the Asteroid whose centre is closest to the specified point, ignoring any which don't at least partly
+     * overlap the specified area. Cells are searched in rings spreading outwards from the cell containing the point,
+     * and the search stops as soon as nothing left unsearched could possibly be any closer than the best Asteroid found
+     * so far, so usually only the handful of cells around the point are looked at.
+     * @param x The x-coordinate of the point to search from.
+     * @param y The y-coordinate of the point to search from.
+     * @param within Only Asteroids which overlap this area will be considered.
+     * @return The index of the closest Asteroid, or -1 if no Asteroid in the grid overlaps the area.
+     */
+    public int findNearest(float x, float y, Rectangle within) {
+        if (cells.isEmpty()) {
+            return -1;
+        }
+        final int centreColumn = column(x), centreRow = row(y);
+
+        int closest = -1;
+        double closestDistance = Double.MAX_VALUE;
+        for (int ring = 0; ; ring++) {
+            final int firstColumn = centreColumn - ring, lastColumn = centreColumn + ring,
+                    firstRow = centreRow - ring, lastRow = centreRow + ring;
+
+            for (int row = Math.max(0, firstRow); row <= Math.min(rows - 1, lastRow); row++) {
+                // Only the cells around the edge of the ring are new, the ones inside it were searched in earlier rings.
+                final boolean edgeRow = row == firstRow || row == lastRow;
+                for (int column = Math.max(0, firstColumn); column <= Math.min(columns - 1, lastColumn); column++) {
+                    if (!edgeRow && column != firstColumn && column != lastColumn) {
+                        continue;
+                    }
+                    final IntList cell = cells.get(row * columns + column);
+                    for (int j = 0; j < cell.size(); j++) {
+                        final int i = cell.get(j);
+                        // Compare squared distances, we only need to know which is closest.
+                        final double dx = asteroids.getX(i) - x;
+                        final double dy = asteroids.getY(i) - y;
+                        final double distance = dx * dx + dy * dy;
+                        if (distance < closestDistance && overlaps(i, within)) {
+                            closestDistance = distance;
+                            closest = i;
+                        }
+                    }
+                }
+            }
+
+            // Anything not searched yet lies beyond one of the sides of the ring which isn't up against the edge of the
+            // grid. If the closest of those sides is further away than the best Asteroid so far, we're done.
+            double nextDistance = Double.MAX_VALUE;
+            if (firstColumn > 0) {
+                nextDistance = Math.min(nextDistance, x - (area.left + firstColumn * cellSize));
+            }
+            if (lastColumn < columns - 1) {
+                nextDistance = Math.min(nextDistance, area.left + (lastColumn + 1) * cellSize - x);
+            }
+            if (firstRow > 0) {
+                nextDistance = Math.min(nextDistance, y - (area.top + firstRow * cellSize));
+            }
+            if (lastRow < rows - 1) {
+                nextDistance = Math.min(nextDistance, area.top + (lastRow + 1) * cellSize - y);
+            }
+            if (nextDistance == Double.MAX_VALUE) {
+                // The ring has covered the whole grid
+                return closest;
+            }
+            if (nextDistance > 0 && nextDistance * nextDistance >= closestDistance) {
+                return closest;
+            }
+        }
+    }
+
+
+    /*
+     * @return true if the bounds of the ith Asteroid overlap the area.
+     */
+    private boolean overlaps(int i, Rectangle area) {
+        asteroids.getBounds(i, asteroidBounds);
+        return asteroidBounds.right > area.left
+                && asteroidBounds.left < area.right
+                && asteroidBounds.bottom > area.top
+                && asteroidBounds.top < area.bottom;
+    }
+
+    /*
+     * @return The index of the column containing the x-coordinate, clamped to the edges of the grid.
+     */
+    private int column(float x) {
+        final int column = (int) Math.floor((x - area.left) / cellSize);
+        return Math.max(0, Math.min(columns - 1, column));
+    }
+
+    /*
+     * @return The index of the row containing the y-coordinate, clamped to the edges of the grid.
+     */
+    private int row(float y) {
+        final int row = (int) Math.floor((y - area.top) / cellSize);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+}
@@ -0,0 +1,215 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.Rectangle;
+
+import java.util.Arrays;
+
+/**
+ * An AsteroidStore which keeps each Asteroid as an object of its own, the way the game always used to. See
+ * EntityStore.Layout.OBJECTS.
+ * <p/>
+ * Asteroids which are removed aren't thrown away. They're kept in the unused end of the array, past 'size', and the
+ * next Asteroid to be added reuses one of them rather than creating a new Asteroid and Polygon. So once the game has
+ * had as many Asteroids as it's going to have at once, adding Asteroids doesn't create any more objects. The number of
+ * spare Asteroids is bounded by the length of the array.
+ *
+ * @author jakemarsden
+ */
+public class AsteroidObjectStore extends AsteroidStore {
+
+    /*
+     * Every Asteroid in the game. Only the first 'size' elements are in use. Any elements after that which aren't null
+     * are spare Asteroids, waiting to be reused.
+     */
+    private Asteroid[] asteroids;
+
+
+    public AsteroidObjectStore() {
+        this(DEF_CAPACITY);
+    }
+
+    /*
+     * @param capacity How many Asteroids to make room for up-front.
+     */
+    public AsteroidObjectStore(int capacity) {
+        asteroids = new Asteroid[capacity];
+    }
+
+
+    @Override
+    public float getX(int i) {
+        return asteroids[i].position.getCentreX();
+    }
+
+    @Override
+    public float getY(int i) {
+        return asteroids[i].position.getCentreY();
+    }
+
+    @Override
+    public float getVelocityX(int i) {
+        return asteroids[i].velocity.x;
+    }
+
+    @Override
+    public float getVelocityY(int i) {
+        return asteroids[i].velocity.y;
+    }
+
+    @Override
+    public float getRadius(int i) {
+        return asteroids[i].position.getBoundingRadius();
+    }
+
+    @Override
+    public Asteroid.Size getSize(int i) {
+        return asteroids[i].size;
+    }
+
+    @Override
+    public boolean isAlive(int i) {
+        return asteroids[i].isAlive;
+    }
+
+    @Override
+    public void kill(int i) {
+        asteroids[i].isAlive = false;
+    }
+
+    @Override
+    public void setVelocity(int i, float x, float y) {
+        asteroids[i].velocity.set(x, y);
+    }
+
+
+    @Override
+    public PolygonShape getShape(int i) {
+        return asteroids[i].position.getShape();
+    }
+
+    @Override
+    public int getVertexCount(int i) {
+        return asteroids[i].position.getVertexCount();
+    }
+
+    @Override
+    public float getVertexX(int i, int v) {
+        return asteroids[i].position.getX(v);
+    }
+
+    @Override
+    public float getVertexY(int i, int v) {
+        return asteroids[i].position.getY(v);
+    }
+
+    @Override
+    public Rectangle getBounds(int i, Rectangle result) {
+        return asteroids[i].position.getBounds(result);
+    }
+
+
+    @Override
+    public boolean overlaps(int i, float testX, float testY, float testRadius, boolean useQuickRejection) {
+        return asteroids[i].position.overlaps(testX, testY, testRadius, useQuickRejection);
+    }
+
+    @Override
+    public boolean overlaps(int i, Polygon testPoly, float[] testPolyVertices, Rectangle testPolyBounds, boolean useQuickRejection) {
+        return asteroids[i].position.overlaps(testPoly, testPolyVertices, testPolyBounds, useQuickRejection);
+    }
+
+
+    /*
+     * The Asteroid uses the given Polygon as it is, so any spare Asteroid in its place is dropped.
+     */
+    @Override
+    public void add(Polygon position, Asteroid.Size size, float velocityX, float velocityY) {
+        if (this.size == asteroids.length) {
+            grow();
+        }
+        final Asteroid asteroid = new Asteroid(position, size);
+        asteroid.velocity.set(velocityX, velocityY);
+        asteroids[this.size++] = asteroid;
+    }
+
+    @Override
+    public void add(float centreX, float centreY, PolygonShape shape, Asteroid.Size size, float velocityX, float velocityY) {
+        if (this.size == asteroids.length) {
+            grow();
+        }
+        final Asteroid spare = asteroids[this.size];
+        if (spare != null) {
+            spare.reset(centreX, centreY, shape, size, velocityX, velocityY);
+        } else {
+            final Asteroid asteroid = new Asteroid(new Polygon(centreX, centreY, shape), size);
+            asteroid.velocity.set(velocityX, velocityY);
+            asteroids[this.size] = asteroid;
+        }
+        this.size++;
+    }
+
+    @Override
+    public void remove(int i) {
+        // Keep the removed Asteroid as a spare, just past the end of the ones still in use.
+        final Asteroid removed = asteroids[i];
+        System.arraycopy(asteroids, i + 1, asteroids, i, size - i - 1);
+        asteroids[--size] = removed;
+    }
+
+    /*
+     * The two Asteroids swap places, so that the one being overwritten can be kept as a spare once the store is
+     * truncated.
+     */
+    @Override
+    void move(int from, int to) {
+        final Asteroid overwritten = asteroids[to];
+        asteroids[to] = asteroids[from];
+        asteroids[from] = overwritten;
+    }
+
+    @Override
+    void truncate(int newSize) {
+        size = newSize;
+    }
+
+    @Override
+    void copyInto(AsteroidArrayStore target) {
+        target.clear();
+        for (int i = 0; i < size; i++) {
+            final Asteroid asteroid = asteroids[i];
+            target.add(asteroid.position, asteroid.size, asteroid.velocity.x, asteroid.velocity.y);
+            if (!asteroid.isAlive) {
+                target.kill(i);
+            }
+        }
+    }
+
+
+
+    @Override
+    public void update(GameWorld world) {
+        for (int i = 0; i < size; i++) {
+            asteroids[i].update(world);
+        }
+    }
+
+
+    /*
+     * Doubles the length of the array, keeping the existing Asteroids.
+     */
+    private void grow() {
+        asteroids = Arrays.copyOf(asteroids, Math.max(DEF_CAPACITY, asteroids.length * 2));
+    }
+
+
+    /*
+     * @return A human-readable string representing this class. Useful for debugging
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{"
+                + "size=" + size + ", "
+                + "capacity=" + asteroids.length
+                + "}";
+    }
+}
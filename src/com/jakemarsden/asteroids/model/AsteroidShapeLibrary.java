@@ -0,0 +1,58 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.Random;
+
+/**
+ * A fixed collection of random shapes for each size of Asteroid, all generated up-front when the game starts. Spawning
+ * an Asteroid then only needs to pick one of the shapes, rather than generating (and splitting into convex pieces) a
+ * brand new shape on the update thread every time. With enough shapes to choose from, the repetition isn't noticeable.
+ * <p/>
+ * The shapes are generated with the game's own random generator, so two games with the same seed still have exactly
+ * the same Asteroids.
+ *
+ * @author jakemarsden
+ */
+public class AsteroidShapeLibrary {
+
+    /*
+     * shapes[size.ordinal()] holds the shapes for each size of Asteroid.
+     */
+    private final PolygonShape[][] shapes = new PolygonShape[Asteroid.Size.values().length][];
+
+
+    /*
+     * @param random The random generator to generate the shapes with.
+     * @param shapesPerSize How many shapes to generate for each size of Asteroid.
+     */
+    public AsteroidShapeLibrary(Random random, int shapesPerSize) {
+        if (shapesPerSize < 1) {
+            throw new IllegalArgumentException("There must be at least 1 shape per size: " + shapesPerSize);
+        }
+        final float[] vertices = new float[2 * RandomPolygonGenerator.MAX_VERTICES];
+        for (Asteroid.Size size : Asteroid.Size.values()) {
+            final PolygonShape[] sizeShapes = new PolygonShape[shapesPerSize];
+            for (int i = 0; i < shapesPerSize; i++) {
+                final int vertexCount = RandomPolygonGenerator.createShape(
+                        random,
+                        size.minInternalRadius, size.maxExternalRadius,
+                        vertices
+                );
+                sizeShapes[i] = new PolygonShape(vertices, vertexCount);
+            }
+            shapes[size.ordinal()] = sizeShapes;
+        }
+    }
+
+
+    /*
+     * Picks one of the shapes for the specified size of Asteroid at random.
+     */
+    public PolygonShape pick(Random random, Asteroid.Size size) {
+        final PolygonShape[] sizeShapes = shapes[size.ordinal()];
+        return sizeShapes[random.nextInt(0, sizeShapes.length)];
+    }
+
+    public int getShapesPerSize() {
+        return shapes[0].length;
+    }
+}
@@ -0,0 +1,233 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.Rectangle;
+
+/**
+ * Holds the state and defines the behaviour of every Asteroid in the game. Asteroids are identified by their index,
+ * which is in the range [0, size()). Note that removing Asteroids changes the index of other Asteroids, so anything
+ * which holds on to an index across updates needs to be told when Asteroids are removed or moved (see
+ * RemovalListener).
+ * <p/>
+ * There are two implementations, one for each EntityStore.Layout: AsteroidArrayStore keeps every Asteroid in parallel
+ * arrays of primitives, sharing each shape rather than copying it, and AsteroidObjectStore keeps an array of
+ * Asteroid objects. Both behave exactly the same, so a game plays out the same whichever is used.
+ *
+ * @author jakemarsden
+ */
+public abstract class AsteroidStore implements EntityStore {
+
+    /*
+     * How many Asteroids there's room for before the store first needs to grow.
+     */
+    static final int DEF_CAPACITY = 32;
+
+    /*
+     * How many Asteroids are currently in the game. Only the first 'size' elements of the store are in use.
+     */
+    int size = 0;
+
+
+    /*
+     * @param layout How the new store should keep its Asteroids.
+     * @param capacity How many Asteroids to make room for up-front.
+     * @return A new, empty store.
+     */
+    public static AsteroidStore create(Layout layout, int capacity) {
+        switch (layout) {
+            case ARRAYS:
+                return new AsteroidArrayStore(capacity);
+            case OBJECTS:
+                return new AsteroidObjectStore(capacity);
+            default:
+                throw new IllegalArgumentException("Unknown layout: " + layout);
+        }
+    }
+
+
+    /*
+     * @return How many Asteroids are currently in the game.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public abstract Asteroid.Size getSize(int i);
+
+    /*
+     * @return False if the ith Asteroid has been destroyed or has left the game, and will soon be removed.
+     */
+    public abstract boolean isAlive(int i);
+
+    /*
+     * Marks the ith Asteroid as dead, so that it will soon be removed from the game.
+     */
+    public abstract void kill(int i);
+
+    /*
+     * Sets the velocity of the ith Asteroid.
+     */
+    public abstract void setVelocity(int i, float x, float y);
+
+
+    /*
+     * @return The shape of the ith Asteroid. Shapes are immutable and shared between Asteroids, so this can be used to
+     *          tell which Asteroids look the same.
+     */
+    public abstract PolygonShape getShape(int i);
+
+    /*
+     * @return How many vertices the ith Asteroid has.
+     */
+    public abstract int getVertexCount(int i);
+
+    /*
+     * @return The x-coordinate of vertex v of the ith Asteroid.
+     */
+    public abstract float getVertexX(int i, int v);
+
+    /*
+     * @return The y-coordinate of vertex v of the ith Asteroid.
+     */
+    public abstract float getVertexY(int i, int v);
+
+    /*
+     * Writes the outside boundaries of the ith Asteroid into an existing rectangle.
+     * @return result, for convenience.
+     */
+    public abstract Rectangle getBounds(int i, Rectangle result);
+
+
+    /*
+     * If some or all of the test circle is inside the ith Asteroid. See Polygon.overlaps(float, float, float, boolean).
+     */
+    public abstract boolean overlaps(int i, float testX, float testY, float testRadius, boolean useQuickRejection);
+
+    /*
+     * If some or all of the moved test Polygon is inside the ith Asteroid. See
+     * Polygon.overlaps(Polygon, float[], Rectangle, boolean).
+     */
+    public abstract boolean overlaps(int i, Polygon testPoly, float[] testPolyVertices, Rectangle testPolyBounds, boolean useQuickRejection);
+
+
+    /*
+     * Adds a new Asteroid to the end of the store, growing the store if there isn't enough room for it.
+     * @param position The shape and location of the new Asteroid.
+     * @param size The size of the new Asteroid.
+     * @param velocityX The horizontal velocity of the new Asteroid.
+     * @param velocityY The vertical velocity of the new Asteroid.
+     */
+    public abstract void add(Polygon position, Asteroid.Size size, float velocityX, float velocityY);
+
+    /*
+     * Adds a new Asteroid to the end of the store, growing the store if there isn't enough room for it. No Polygon is
+     * needed, so spawning an Asteroid like this doesn't have to create one.
+     * @param centreX The x-coordinate of the centre of the new Asteroid.
+     * @param centreY The y-coordinate of the centre of the new Asteroid.
+     * @param shape The shape of the new Asteroid, which is shared rather than copied.
+     * @param size The size of the new Asteroid.
+     * @param velocityX The horizontal velocity of the new Asteroid.
+     * @param velocityY The vertical velocity of the new Asteroid.
+     */
+    public abstract void add(float centreX, float centreY, PolygonShape shape, Asteroid.Size size, float velocityX, float velocityY);
+
+    /*
+     * Removes the ith Asteroid from the game. Every Asteroid after it is moved down one place to fill the gap, so
+     * removing several Asteroids like this shifts the rest of the store along once for every one of them. Prefer
+     * removeDead() where possible.
+     */
+    public abstract void remove(int i);
+
+    /*
+     * Removes every Asteroid marked as dead, in a single pass over the store.
+     * @param swap If true, each gap is filled by moving the last Asteroid into it, which changes the order of the
+     *          store. If false, the survivors are copied down over the gaps and their order is preserved.
+     * @param listener Told about every Asteroid which is removed or moved, as it happens.
+     */
+    public void removeDead(boolean swap, RemovalListener listener) {
+        if (swap) {
+            // Fill each gap with the last Asteroid in the store. The Asteroid moved into the gap is checked next.
+            int i = 0;
+            while (i < size) {
+                if (isAlive(i)) {
+                    i++;
+                } else {
+                    // FIXME logging Logger.INSTANCE.v(getClass(), "Asteroid left the game: " + i);
+                    listener.onAsteroidRemoved(i);
+                    final int last = size - 1;
+                    if (last != i) {
+                        move(last, i);
+                        listener.onAsteroidMoved(last, i);
+                    }
+                    truncate(last);
+                }
+            }
+        } else {
+            // Copy the live Asteroids down over the dead ones, then chop off whatever is left at the end.
+            int alive = 0;
+            for (int i = 0; i < size; i++) {
+                if (isAlive(i)) {
+                    if (alive != i) {
+                        move(i, alive);
+                        listener.onAsteroidMoved(i, alive);
+                    }
+                    alive++;
+                } else {
+                    // FIXME logging Logger.INSTANCE.v(getClass(), "Asteroid left the game: " + i);
+                    listener.onAsteroidRemoved(i);
+                }
+            }
+            truncate(alive);
+        }
+    }
+
+    /*
+     * Used by removeDead() to overwrite one Asteroid with another. Whatever is left at 'from' afterwards is never used
+     * again, other than being dropped by truncate().
+     */
+    abstract void move(int from, int to);
+
+    /*
+     * Used by removeDead() to drop every Asteroid from newSize onwards.
+     */
+    abstract void truncate(int newSize);
+
+    /*
+     * Replaces every Asteroid in the target store with a copy of those in this one, growing the target if necessary.
+     * Used to take snapshots of the game (see WorldSnapshot).
+     * @param target The store to copy into.
+     */
+    abstract void copyInto(AsteroidArrayStore target);
+
+    /*
+     * Removes every Asteroid from the game.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+
+    /*
+     * Moves each Asteroid based on its velocity. Any Asteroid which has left the game is marked as dead, but isn't
+     * removed (see removeDead()).
+     * @param world The world the Asteroids are a part of.
+     */
+    public abstract void update(GameWorld world);
+
+
+    /*
+     * Used to tell anything holding on to the index of an Asteroid when that index stops being valid.
+     */
+    public interface RemovalListener {
+
+        /*
+         * The Asteroid at index i has been removed from the game.
+         */
+        public void onAsteroidRemoved(int i);
+
+        /*
+         * The Asteroid at index 'from' now lives at index 'to'.
+         */
+        public void onAsteroidMoved(int from, int to);
+    }
+}
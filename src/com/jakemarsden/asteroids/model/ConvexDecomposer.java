@@ -0,0 +1,190 @@
+package com.jakemarsden.asteroids.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A static class to split a simple (possibly concave) polygon into convex pieces. Convex pieces can be tested for
+ * overlap exactly and cheaply with the separating axis theorem, which isn't possible for concave shapes.
+ * <p/>
+ * The polygon is first split into triangles by ear clipping. Neighbouring pieces are then merged together, as long as
+ * the merged piece is still convex (the Hertel-Mehlhorn algorithm). This doesn't always give the fewest possible pieces,
+ * but it never gives more than 4 times as many and is plenty good enough for shapes with only a few dozen vertices.
+ *
+ * @author jakemarsden
+ */
+public class ConvexDecomposer {
+
+    private ConvexDecomposer() {
+        throw new UnsupportedOperationException();
+    }
+
+
+    /*
+     * Splits a polygon into convex pieces.
+     * @param vertices The vertices of the polygon, as pairs of [x,y] coordinates one after the other. The vertices may
+     *          be in either clockwise or anti-clockwise order, but the polygon's edges must not cross each other.
+     * @param vertexCount How many vertices to take from the array.
+     * @return The convex pieces. Each piece is an array of indices into the polygon's vertices, in the same order as the
+     *          vertices of the polygon itself.
+     */
+    public static int[][] decompose(float[] vertices, int vertexCount) {
+        final float orientation = Math.signum(signedArea(vertices, vertexCount));
+        final List<int[]> pieces = triangulate(vertices, vertexCount, orientation);
+        mergePieces(vertices, pieces, orientation);
+        return pieces.toArray(new int[pieces.size()][]);
+    }
+
+
+    /*
+     * Splits the polygon into triangles by repeatedly "clipping off" a vertex whose triangle with its two neighbours is
+     * convex and contains no other vertex.
+     */
+    private static List<int[]> triangulate(float[] vertices, int vertexCount, float orientation) {
+        final List<int[]> triangles = new ArrayList<int[]>();
+        final int[] remaining = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            remaining[i] = i;
+        }
+
+        int remainingCount = vertexCount;
+        while (remainingCount > 3) {
+            int ear = -1;
+            for (int i = 0; i < remainingCount && ear == -1; i++) {
+                if (isEar(vertices, remaining, remainingCount, i, orientation)) {
+                    ear = i;
+                }
+            }
+            if (ear == -1) {
+                // Only happens for degenerate shapes, e.g. when vertices lie exactly on top of each other. Clip the
+                // first vertex anyway so that we always finish.
+                ear = 0;
+            }
+
+            triangles.add(new int[]{
+                    remaining[(ear + remainingCount - 1) % remainingCount],
+                    remaining[ear],
+                    remaining[(ear + 1) % remainingCount]
+            });
+            System.arraycopy(remaining, ear + 1, remaining, ear, remainingCount - ear - 1);
+            remainingCount--;
+        }
+        triangles.add(new int[]{remaining[0], remaining[1], remaining[2]});
+        return triangles;
+    }
+
+    /*
+     * @return True if the ith remaining vertex and its two neighbours make a triangle which can be clipped off.
+     */
+    private static boolean isEar(float[] vertices, int[] remaining, int remainingCount, int i, float orientation) {
+        final int prev = remaining[(i + remainingCount - 1) % remainingCount],
+                cur = remaining[i],
+                next = remaining[(i + 1) % remainingCount];
+        if (cross(vertices, prev, cur, next) * orientation <= 0) {
+            // A reflex (or flat) corner, so the triangle would lie outside of the polygon.
+            return false;
+        }
+        for (int j = 0; j < remainingCount; j++) {
+            final int other = remaining[j];
+            if (other != prev && other != cur && other != next
+                    && triangleContains(vertices, prev, cur, next, other, orientation)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Repeatedly merges pairs of pieces which share an edge, as long as the result is still convex.
+     */
+    private static void mergePieces(float[] vertices, List<int[]> pieces, float orientation) {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < pieces.size() && !merged; i++) {
+                for (int j = i + 1; j < pieces.size() && !merged; j++) {
+                    final int[] candidate = merge(pieces.get(i), pieces.get(j));
+                    if (candidate != null && isConvex(vertices, candidate, orientation)) {
+                        pieces.set(i, candidate);
+                        pieces.remove(j);
+                        merged = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Joins two pieces along an edge they share.
+     * @return The joined piece, in the same order as the two pieces, or null if the two pieces don't share an edge.
+     */
+    private static int[] merge(int[] a, int[] b) {
+        for (int i = 0; i < a.length; i++) {
+            final int start = a[i], end = a[(i + 1) % a.length];
+            for (int j = 0; j < b.length; j++) {
+                // As both pieces go round in the same direction, a shared edge goes in opposite directions in each.
+                if (b[j] == end && b[(j + 1) % b.length] == start) {
+                    final int[] result = new int[a.length + b.length - 2];
+                    int count = 0;
+                    // All of a, starting from the end of the shared edge and finishing at its start...
+                    for (int k = 0; k < a.length; k++) {
+                        result[count++] = a[(i + 1 + k) % a.length];
+                    }
+                    // ...then the rest of b, skipping the two vertices of the shared edge.
+                    for (int k = 2; k < b.length; k++) {
+                        result[count++] = b[(j + k) % b.length];
+                    }
+                    return result;
+                }
+            }
+        }
+        return null;
+    }
+
+    /*
+     * @return True if every corner of the piece turns the same way as the polygon as a whole.
+     */
+    private static boolean isConvex(float[] vertices, int[] piece, float orientation) {
+        for (int i = 0; i < piece.length; i++) {
+            final int prev = piece[(i + piece.length - 1) % piece.length],
+                    cur = piece[i],
+                    next = piece[(i + 1) % piece.length];
+            if (cross(vertices, prev, cur, next) * orientation < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * @return True if the vertex p lies inside or on the edge of the triangle [a,b,c].
+     */
+    private static boolean triangleContains(float[] vertices, int a, int b, int c, int p, float orientation) {
+        return cross(vertices, a, b, p) * orientation >= 0
+                && cross(vertices, b, c, p) * orientation >= 0
+                && cross(vertices, c, a, p) * orientation >= 0;
+    }
+
+    /*
+     * @return The z-component of the cross product of [a,b] and [b,c]. This is positive if the corner at b turns one
+     *          way, negative if it turns the other way and 0 if a, b and c are in a straight line.
+     */
+    private static float cross(float[] vertices, int a, int b, int c) {
+        final float abx = vertices[2 * b] - vertices[2 * a],
+                aby = vertices[2 * b + 1] - vertices[2 * a + 1],
+                bcx = vertices[2 * c] - vertices[2 * b],
+                bcy = vertices[2 * c + 1] - vertices[2 * b + 1];
+        return abx * bcy - aby * bcx;
+    }
+
+    /*
+     * @return Twice the signed area of the polygon. The sign tells us which way round the vertices go.
+     */
+    private static float signedArea(float[] vertices, int vertexCount) {
+        float area = 0;
+        for (int i = 0, j = vertexCount - 1; i < vertexCount; j = i++) {
+            area += vertices[2 * j] * vertices[2 * i + 1] - vertices[2 * i] * vertices[2 * j + 1];
+        }
+        return area;
+    }
+}
@@ -0,0 +1,55 @@
+package com.jakemarsden.asteroids.model;
+
+/**
+ * Gives access to every game object of one type, such as every Asteroid or every Projectile in the game. Each object is
+ * identified by its index, which is in the range [0, size()), rather than by a reference to an object of its own.
+ * Anything which only needs to know where the objects are and where they're going (such as the drawers) can read them
+ * through this, without caring how the store actually keeps them (see Layout).
+ *
+ * @author jakemarsden
+ */
+public interface EntityStore {
+
+    /*
+     * @return How many objects are in the store.
+     */
+    public int size();
+
+    /*
+     * @return The x-coordinate of the centre of the ith object.
+     */
+    public float getX(int i);
+
+    /*
+     * @return The y-coordinate of the centre of the ith object.
+     */
+    public float getY(int i);
+
+    public float getVelocityX(int i);
+
+    public float getVelocityY(int i);
+
+    /*
+     * @return The radius of the ith object. For anything which isn't a circle, this is the distance from its centre to
+     *          the furthest point on its edge.
+     */
+    public float getRadius(int i);
+
+
+    /*
+     * The ways a store can lay out its objects in memory.
+     */
+    public enum Layout {
+
+        /*
+         * Each property is kept in an array of primitives, with one element per object. Updating every object is then
+         * a straight run through a few arrays, rather than hopping around the heap from object to object.
+         */
+        ARRAYS,
+        /*
+         * Each object is an object of its own (an Asteroid or a Projectile) and the store keeps an array of them. This
+         * is how the game has always stored them, and it's kept so that the two can be compared.
+         */
+        OBJECTS
+    }
+}
@@ -1,15 +1,11 @@
 package com.jakemarsden.asteroids.model;
 
-import android.content.Context;
-import android.graphics.RectF;
 import com.jakemarsden.asteroids.InputEvent;
 import com.jakemarsden.asteroids.listener.InputListener;
 import com.jakemarsden.asteroids.listener.UpdateListener;
+import com.jakemarsden.asteroids.metrics.GameMetrics;
 import com.jakemarsden.asteroids.util.Random;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
+import com.jakemarsden.asteroids.util.Rectangle;
 
 /**
  * Defines the state and behaviour of the game. The game contains 3 types
@@ -22,21 +18,51 @@ import java.util.concurrent.ArrayBlockingQueue;
 public class GameWorld implements InputListener, UpdateListener {
 
     /*
-     * Any input given to us will be held in this queue until the next update. This isolates the friction between the
-     * GameLoop thread and Android's main thread (which passes us the input) to just this object. Also note that
-     * ArrayBlockingQueues are thread-safe so we don't need to implement any thread synchronization ourselves.
+     * The size of each cell in asteroidGrid. This is roughly the diameter of the largest Asteroid, so most collision
+     * checks only need to look at the cells immediately surrounding the object being tested.
+     */
+    private static final float ASTEROID_GRID_CELL_SIZE = 180f;
+    /*
+     * How many Asteroids there's room for before anything needs to allocate: the asteroids store and the cells of
+     * asteroidGrid start out this large. Comfortably more than are ever in the game at once; a long
+     * computer-controlled game peaks at around 75.
+     */
+    public static final int ASTEROID_CAPACITY = 128;
+    /*
+     * How the Asteroids and Projectiles are kept in memory, unless told otherwise.
+     */
+    public static final EntityStore.Layout DEF_LAYOUT = EntityStore.Layout.ARRAYS;
+    /*
+     * How many different shapes are generated for each size of Asteroid, unless told otherwise.
+     */
+    public static final int DEF_SHAPES_PER_ASTEROID_SIZE = 32;
+
+    /*
+     * How many InputEvents each input buffer can hold.
+     */
+    private static final int INPUT_BUFFER_CAPACITY = 64;
+
+    /*
+     * Any input given to us by the user will be held in this buffer until the next update. This isolates the friction
+     * between the GameLoop thread and Android's main thread (which passes us the input) to just this object. The buffer
+     * never blocks, so the main thread is never held up waiting for an update to finish.
      */
-    private final ArrayBlockingQueue<InputEvent> inputQueue = new ArrayBlockingQueue<InputEvent>(20);
+    private final InputRingBuffer userInput = new InputRingBuffer(INPUT_BUFFER_CAPACITY, InputRingBuffer.OverflowPolicy.COALESCE);
+    /*
+     * The same for input given to us by an AIPlayer. This has its own buffer as each buffer can only be safely fed by
+     * one thread, and the AIPlayer is run by the update thread rather than the main thread.
+     */
+    private final InputRingBuffer aiInput = new InputRingBuffer(INPUT_BUFFER_CAPACITY, InputRingBuffer.OverflowPolicy.COALESCE);
     /*
      * The boundaries of the screen. This must be set with onViewCreated() before the first call to onGameUpdate().
      */
-    public final RectF screenBounds = new RectF();
+    public final Rectangle screenBounds = new Rectangle();
     /*
      * The boundaries of the game, which should be slightly larger than the screen. Objects leaving these boundaries
      * will be removed from the game. This is necessary as using the screen bounds would cause objects to disappear
      * when only half off the screen. This must be set with onViewCreated() before the first call to onGameUpdate().
      */
-    public final RectF worldBounds = new RectF();
+    public final Rectangle worldBounds = new Rectangle();
     /*
      * The random generator to use for any random events in the game. This generator must be used to generate all of the
      * game's random events to ensure consistent results. When the same random seed is used and when the same input is
@@ -54,6 +80,15 @@ public class GameWorld implements InputListener, UpdateListener {
      * The listener to notify when the game ends. If set to null, no listener will be notified.
      */
     private OnGameEndListener onGameEndListener = null;
+    /*
+     * The listener to notify whenever some of the user's input is handled. If set to null, no listener will be
+     * notified.
+     */
+    private OnUserInputHandledListener onUserInputHandledListener = null;
+    /*
+     * How many updates have been started. During an update, the number of the current update is one less than this.
+     */
+    private long updateCount = 0;
     /*
      * It may take us one or two updates to completely bring the game to a halt (first, the Activity must close. Then,
      *  the view's surfaceDestroyed() method must be called and then the GameLoop's thread must be stopped). This
@@ -65,34 +100,99 @@ public class GameWorld implements InputListener, UpdateListener {
      * Any game objects currently a part of the game.
      */
     public Player player;
-    public final List<Asteroid> asteroids = new ArrayList<Asteroid>();
+    public final AsteroidStore asteroids;
 
-    public final List<Projectile> projectiles = new ArrayList<Projectile>();
+    public final ProjectileStore projectiles;
+    /*
+     * Used by game objects to find the Asteroids they could be colliding with, without having to check every single
+     * Asteroid in the game. This is rebuilt at the start of every update and any Asteroids spawned during the update
+     * are added to it as they enter the game.
+     */
+    public final AsteroidGrid asteroidGrid;
+    /*
+     * Every shape an Asteroid can have, generated when the game is created.
+     */
+    public final AsteroidShapeLibrary asteroidShapes;
+    /*
+     * A snapshot of the game is published here at the end of every update. Anything drawing the game should draw the
+     * latest snapshot from here rather than reading the game objects directly, as the game may be being updated on
+     * another thread at the same time.
+     */
+    public final WorldSnapshotBuffer snapshots = new WorldSnapshotBuffer();
+    /*
+     * How long each part of updating (and drawing) the game takes. The GameView records its own timings in here too.
+     */
+    public final GameMetrics metrics = new GameMetrics();
 
     public final AudioController audioController;
 
     public int score = 0;
 
+    /*
+     * If true, dead Asteroids are removed by moving the last Asteroid into their place, which changes the order of the
+     * asteroids store. If false, the survivors are copied down over the gaps and the order of the store is preserved.
+     * Either way, dead Asteroids are only removed once per update, after every Asteroid has been updated. See
+     * RemoveDeadAsteroidsBenchmark for how the two compare.
+     */
+    public boolean swapRemoveDeadAsteroids = false;
+
     /*
      * How probable it is that an Asteroid will spawn each update. The larger this number, the lower the probability of
      * an Asteroid spawning.
      */
     public float asteroidSpawnProbability = 100;
+    /*
+     * How quickly the game gets harder. Every update, asteroidSpawnProbability is reduced by this fraction of itself,
+     * so larger numbers make the game get harder more slowly.
+     */
+    public float asteroidSpawnDecay = 5000;
+    /*
+     * The lowest asteroidSpawnProbability is allowed to fall to, which is the hardest the game can get.
+     */
+    public float minAsteroidSpawnProbability = 10;
 
 
     /*
-     * @param context The context to use to access resources and system services etc.
+     * @param audioController Used to play sounds during the game. Whether or not the sounds start off muted is up to
+     *          the controller, although user input can alter this after the game has started.
      * @param seed The seed to use for the random generator. Two games with identical seeds and identical user input
      *          will always produce identical results.
      * @param aiControlled Pass true if you wish the player to be controlled by the computer, false if you wish the
      *          player to be controlled by the user.
-     * @param allowSound Whether or not sound is to be enabled at the start of the game. Note that user input can alter
-     *          this after the game has started.
      */
-    public GameWorld(Context context, long seed, boolean aiControlled, boolean allowSound) {
+    public GameWorld(AudioController audioController, long seed, boolean aiControlled) {
+        this(audioController, seed, aiControlled, DEF_LAYOUT);
+    }
+
+    /*
+     * @param audioController Used to play sounds during the game. Whether or not the sounds start off muted is up to
+     *          the controller, although user input can alter this after the game has started.
+     * @param seed The seed to use for the random generator. Two games with identical seeds and identical user input
+     *          will always produce identical results, whichever layout is used.
+     * @param aiControlled Pass true if you wish the player to be controlled by the computer, false if you wish the
+     *          player to be controlled by the user.
+     * @param layout How the Asteroids and Projectiles should be kept in memory.
+     */
+    public GameWorld(AudioController audioController, long seed, boolean aiControlled, EntityStore.Layout layout) {
+        this(audioController, seed, aiControlled, layout, DEF_SHAPES_PER_ASTEROID_SIZE);
+    }
+
+    /*
+     * @param audioController See GameWorld(AudioController, long, boolean, EntityStore.Layout).
+     * @param seed See GameWorld(AudioController, long, boolean, EntityStore.Layout).
+     * @param aiControlled See GameWorld(AudioController, long, boolean, EntityStore.Layout).
+     * @param layout See GameWorld(AudioController, long, boolean, EntityStore.Layout).
+     * @param shapesPerAsteroidSize How many different shapes to generate for each size of Asteroid. The shapes are
+     *          generated here, up-front, so that spawning an Asteroid doesn't need to generate a new one.
+     */
+    public GameWorld(AudioController audioController, long seed, boolean aiControlled, EntityStore.Layout layout, int shapesPerAsteroidSize) {
         randomGenerator = Random.fromSeed(seed);
         usingAIPlayer = aiControlled;
-        audioController = new AudioController(context, 5, !allowSound);
+        this.audioController = audioController;
+        asteroids = AsteroidStore.create(layout, ASTEROID_CAPACITY);
+        projectiles = ProjectileStore.create(layout);
+        asteroidGrid = new AsteroidGrid(asteroids, ASTEROID_GRID_CELL_SIZE, ASTEROID_CAPACITY);
+        asteroidShapes = new AsteroidShapeLibrary(randomGenerator, shapesPerAsteroidSize);
     }
 
 
@@ -103,6 +203,33 @@ public class GameWorld implements InputListener, UpdateListener {
         onGameEndListener = listener;
     }
 
+    /*
+     * @param The listener to be notified whenever some of the user's input is handled, or null to remove the current
+     *          listener.
+     */
+    public void setOnUserInputHandledListener(OnUserInputHandledListener listener) {
+        onUserInputHandledListener = listener;
+    }
+
+
+    /*
+     * @return How many updates have been started since the game was created.
+     */
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    public boolean isAIControlled() {
+        return usingAIPlayer;
+    }
+
+    /*
+     * @return true once the user has lost the game. A game with an AIPlayer never ends.
+     */
+    public boolean hasGameFinished() {
+        return gameAlreadyFinished;
+    }
+
 
     /*
      * Must be called once after the view is ready to go but before the first call to onGameUpdate(). Here we set
@@ -115,84 +242,92 @@ public class GameWorld implements InputListener, UpdateListener {
     public void onViewCreated(float left, float top, float right, float bottom) {
         screenBounds.set(left, top, right, bottom);
         worldBounds.set(left - 100f, top - 100f, right + 100f, bottom + 100f);
+        asteroidGrid.setArea(worldBounds);
         onSpawnPlayer();
 
         for (int i = 0; i < 3; i++) {
             onSpawnAsteroid();
         }
+        snapshots.publish(this);
     }
 
 
     /*
-     * Called by a GameView as the user interacts with the game, or by any game objects with AI. Adds each event to a
-     * queue to be handled during the next game update. This prevents Android's main thread (which gives us the input)
-     * and the game's update thread from trying to access game objects simultaneously, which will cause nasty
-     * ConcurrentModificationExceptions.
+     * Called by a GameView as the user interacts with the game. Adds each event to a buffer to be handled during the
+     * next game update. This prevents Android's main thread (which gives us the input) and the game's update thread
+     * from trying to access game objects simultaneously, which will cause nasty ConcurrentModificationExceptions. Must
+     * only be called from one thread, and never blocks.
      */
     @Override
     public void onUserInput(InputEvent event) {
         //Logger.INSTANCE.v(getClass(), "onUserInput(event=" + event + ")");
-        try {
-            inputQueue.put(event);
-        } catch (InterruptedException err) {
-            // Should never really be thrown as we aren't using InterruptedExceptions to stop threads and the
-            // ArrayBlockingQueue is initialized with plenty of room for normal use.
-            // FIXME logging Logger.INSTANCE.d(getClass(), "Interrupted while queueing input: " + event);
+        if (!userInput.offer(event, System.nanoTime())) {
+            // FIXME logging Logger.INSTANCE.d(getClass(), "Input buffer full, dropped: " + event);
         }
     }
 
-
     /*
-     * Drain the queue of InputEvents and deal with each accordingly. Then, update the game's state by moving objects
-     * and detecting collisions etc. This should be called periodically by a GameLoop.
+     * Called by an AIPlayer during an update. Works just like onUserInput(), so the event is handled during the next
+     * update, just as if the user had given it.
      */
-    // Used for debugging to make sure updates aren't taking too long. If they are either the timing of the GameLoop
-    // should be changed or this method should be made less intensive.
-    private long fastestUpdate = Long.MAX_VALUE;
-    private long slowestUpdate = Long.MIN_VALUE;
+    void onAIInput(InputEvent event) {
+        if (!aiInput.offer(event, System.nanoTime())) {
+            // FIXME logging Logger.INSTANCE.d(getClass(), "AI input buffer full, dropped: " + event);
+        }
+    }
+
 
+    /*
+     * Drain the buffers of InputEvents and deal with each accordingly. Then, update the game's state by moving objects
+     * and detecting collisions etc. This should be called periodically by a GameLoop. How long each part of the update
+     * takes is recorded in the metrics.
+     */
     @Override
     public void onGameUpdate() {
-        final long startTime = System.currentTimeMillis();
+        final long startTime = System.nanoTime();
+        long phaseStart = startTime, phaseEnd;
+        updateCount++;
 
-        // FIXME logging Logger.INSTANCE.v(getClass(), "onGameUpdate() Note: inputQueue size: " + inputQueue.size() + ", asteroids: " + asteroids.size());
+        // FIXME logging Logger.INSTANCE.v(getClass(), "onGameUpdate() Note: userInput size: " + userInput.size() + ", asteroids: " + asteroids.size());
 
-        // Drain the inputQueue and delegate each InputEvent appropriately.
-        InputEvent event;
-        while ((event = inputQueue.poll()) != null) {
-            if (event != InputEvent.TOGGLE_AUDIO_MUTE) {
-                player.handleUserInput(this, event);
-            }
-            audioController.handleUserInput(this, event);
+        // Drain the input buffers and delegate each InputEvent appropriately.
+        handleInput(userInput, startTime, onUserInputHandledListener);
+        handleInput(aiInput, startTime, null);
+        phaseEnd = System.nanoTime();
+        metrics.record(GameMetrics.Phase.INPUT, phaseEnd - phaseStart);
+        phaseStart = phaseEnd;
+
+        // The asteroids have all moved since the last update, so their positions in the grid need refreshing.
+        asteroidGrid.clear();
+        for (int i = 0; i < asteroids.size(); i++) {
+            asteroidGrid.insert(i);
         }
+        phaseEnd = System.nanoTime();
+        metrics.record(GameMetrics.Phase.GRID, phaseEnd - phaseStart);
+        phaseStart = phaseEnd;
 
         // Update the player
         player.update(this);
         if (!player.isAlive) {
             onFinishGame();
         }
+        phaseEnd = System.nanoTime();
+        metrics.record(GameMetrics.Phase.PLAYER, phaseEnd - phaseStart);
+        phaseStart = phaseEnd;
 
         // Update the projectiles
-        for (int i = 0; i < projectiles.size(); i++) {
-            final Projectile projectile = projectiles.get(i);
-            projectile.update(this);
-            if (!projectile.isAlive) {
-                // FIXME logging Logger.INSTANCE.v(getClass(), "Projectile left the game: " + projectile);
-                projectiles.remove(i);
-                i--;
-            }
-        }
-
-        // Update the asteroids
-        for (int i = 0; i < asteroids.size(); i++) {
-            final Asteroid asteroid = asteroids.get(i);
-            asteroid.update(this);
-            if (!asteroid.isAlive) {
-                // FIXME logging Logger.INSTANCE.v(getClass(), "Asteroid left the game: " + asteroid);
-                asteroids.remove(i);
-                i--;
-            }
-        }
+        projectiles.update(this);
+        phaseEnd = System.nanoTime();
+        metrics.record(GameMetrics.Phase.PROJECTILES, phaseEnd - phaseStart);
+        phaseStart = phaseEnd;
+
+        // Update the asteroids. Any which die are only marked as dead here and are removed all at once afterwards, as
+        // removing them one at a time would shift the rest of the store along for every single death.
+        asteroids.update(this);
+        asteroids.removeDead(swapRemoveDeadAsteroids, player);
+        phaseEnd = System.nanoTime();
+        metrics.record(GameMetrics.Phase.ASTEROIDS, phaseEnd - phaseStart);
+        phaseStart = phaseEnd;
 
         // Should we spawn a new Asteroid?
         if (randomGenerator.nextInt(0, (int) asteroidSpawnProbability) == 0) {
@@ -200,24 +335,46 @@ public class GameWorld implements InputListener, UpdateListener {
         }
 
         // Increase the difficulty
-        // The probability after a certain number of updates (providing it isn't 10) will be: P = 100*[1-(1/5000)]^updates
-        asteroidSpawnProbability -= asteroidSpawnProbability / 5000;
+        // The probability after a certain number of updates (providing it isn't at the minimum) will be:
+        // P = 100*[1-(1/asteroidSpawnDecay)]^updates
+        asteroidSpawnProbability -= asteroidSpawnProbability / asteroidSpawnDecay;
 
-        // The hardest the game can get is 1 asteroid every 10 updates (4 every second)
-        if (asteroidSpawnProbability < 10) {
-            asteroidSpawnProbability = 10;
+        // By default, the hardest the game can get is 1 asteroid every 10 updates (4 every second)
+        if (asteroidSpawnProbability < minAsteroidSpawnProbability) {
+            asteroidSpawnProbability = minAsteroidSpawnProbability;
         }
+        phaseEnd = System.nanoTime();
+        metrics.record(GameMetrics.Phase.SPAWN, phaseEnd - phaseStart);
+        phaseStart = phaseEnd;
+
+        // Let whoever is drawing the game know about our new state
+        snapshots.publish(this);
+        phaseEnd = System.nanoTime();
+        metrics.record(GameMetrics.Phase.PUBLISH, phaseEnd - phaseStart);
+
+        metrics.record(GameMetrics.Phase.UPDATE, phaseEnd - startTime);
+        metrics.setGauge(GameMetrics.Gauge.ASTEROIDS, asteroids.size());
+        metrics.setGauge(GameMetrics.Gauge.PROJECTILES, projectiles.size());
+        metrics.setGauge(GameMetrics.Gauge.INPUT_DROPPED, (int) (userInput.getDroppedCount() + aiInput.getDroppedCount()));
+        metrics.setGauge(GameMetrics.Gauge.INPUT_COALESCED, (int) (userInput.getCoalescedCount() + aiInput.getCoalescedCount()));
+    }
 
-
-        // Used for debugging to make sure updates aren't taking too long.
-        final long time = System.currentTimeMillis() - startTime;
-        if (time > slowestUpdate) {
-            slowestUpdate = time;
-            // FIXME logging Logger.INSTANCE.i(getClass(), "new slowest update: " + time);
-        }
-        if (time < fastestUpdate) {
-            fastestUpdate = time;
-            // FIXME logging Logger.INSTANCE.i(getClass(), "new fastest update: " + time);
+    /*
+     * Handles every InputEvent waiting in the buffer, recording how long each one waited.
+     * @param now The time at which this update started.
+     * @param listener The listener to tell about each event, or null.
+     */
+    private void handleInput(InputRingBuffer buffer, long now, OnUserInputHandledListener listener) {
+        InputEvent event;
+        while ((event = buffer.poll()) != null) {
+            metrics.record(GameMetrics.Phase.INPUT_LATENCY, now - buffer.getLastPolledTime());
+            if (listener != null) {
+                listener.onUserInputHandled(this, updateCount - 1, event);
+            }
+            if (event != InputEvent.TOGGLE_AUDIO_MUTE) {
+                player.handleUserInput(this, event);
+            }
+            audioController.handleUserInput(this, event);
         }
     }
 
@@ -231,9 +388,17 @@ public class GameWorld implements InputListener, UpdateListener {
         player.angle = -(float) (Math.PI / 2d); // Start pointing towards the top of the screen
     }
 
-    public void onSpawnProjectile(Projectile projectile) {
-        // FIXME logging Logger.INSTANCE.v(getClass(), "Projectile entering the game: " + projectile);
-        projectiles.add(projectile);
+    /*
+     * Adds a new Projectile to the game with the specified position, velocity and radius.
+     * @param x
+     * @param y
+     * @param velocityX
+     * @param velocityY
+     * @param radius
+     */
+    public void onSpawnProjectile(float x, float y, float velocityX, float velocityY, float radius) {
+        // FIXME logging Logger.INSTANCE.v(getClass(), "Projectile entering the game: [" + x + "," + y + "]");
+        projectiles.add(x, y, velocityX, velocityY, radius);
     }
 
     /*
@@ -291,29 +456,32 @@ public class GameWorld implements InputListener, UpdateListener {
      * @param velocityY
      */
     public void onSpawnAsteroid(Asteroid.Size size, float centerX, float centerY, float velocityX, float velocityY) {
-        final Asteroid asteroid = new Asteroid(randomGenerator, centerX, centerY, size);
-        asteroid.velocity.set(velocityX, velocityY);
+        final PolygonShape shape = asteroidShapes.pick(randomGenerator, size);
 
-        // FIXME logging Logger.INSTANCE.v(getClass(), "Asteroid entering the game: " + asteroid);
-        asteroids.add(asteroid);
+        // FIXME logging Logger.INSTANCE.v(getClass(), "Asteroid entering the game: [" + centerX + "," + centerY + "]");
+        asteroids.add(centerX, centerY, shape, size, velocityX, velocityY);
+        asteroidGrid.insert(asteroids.size() - 1);
     }
 
     /*
      * Removes the asteroid from the game, increases the score and, depending on the asteroid's size, spawns some more
      * asteroids to take its place (i.e. larger asteroids will "split" into smaller ones).
-     * @param asteroid The asteroid which was destroyed.
+     * @param asteroid The index of the asteroid which was destroyed.
      */
-    public void onAsteroidDestroyed(Asteroid asteroid) {
-        asteroid.isAlive = false;
+    public void onAsteroidDestroyed(int asteroid) {
+        asteroids.kill(asteroid);
         score++;
 
-        if (asteroid.size != Asteroid.Size.SMALL) {
+        final Asteroid.Size oldSize = asteroids.getSize(asteroid);
+        if (oldSize != Asteroid.Size.SMALL) {
             // Spawn some new asteroids to make the destroyed asteroid "split" into smaller ones
-            Asteroid.Size newSize = asteroid.size == Asteroid.Size.LARGE ? Asteroid.Size.MEDIUM : Asteroid.Size.SMALL;
+            Asteroid.Size newSize = oldSize == Asteroid.Size.LARGE ? Asteroid.Size.MEDIUM : Asteroid.Size.SMALL;
 
             // Chance of having 2 asteroids spawn is 4/5. Chance of having 3 asteroids spawn is 1/5.
             final int newAsteroidCount = randomGenerator.nextInt(0, 6) == 0 ? 3 : 2;
-            final double oldAngle = Math.atan2(asteroid.velocity.y, asteroid.velocity.x);
+            final float oldVelocityX = asteroids.getVelocityX(asteroid), oldVelocityY = asteroids.getVelocityY(asteroid);
+            final float oldCentreX = asteroids.getX(asteroid), oldCentreY = asteroids.getY(asteroid);
+            final double oldAngle = Math.atan2(oldVelocityY, oldVelocityX);
 
             // The second new asteroid will travel with the same speed and direction as the destroyed one. The others
             // will travel with different speeds and directions.
@@ -322,14 +490,14 @@ public class GameWorld implements InputListener, UpdateListener {
 
                 float velocityX, velocityY;
                 if (sameVelocity) {
-                    velocityX = asteroid.velocity.x;
-                    velocityY = asteroid.velocity.y;
+                    velocityX = oldVelocityX;
+                    velocityY = oldVelocityY;
                 } else {
                     final double newDirection = oldAngle + randomGenerator.nextDouble(-Math.PI / 4f, Math.PI / 4f);
                     velocityX = (float) (newSize.speed * Math.cos(newDirection));
                     velocityY = (float) (newSize.speed * Math.sin(newDirection));
                 }
-                onSpawnAsteroid(newSize, asteroid.position.getCentreX(), asteroid.position.getCentreY(), velocityX, velocityY);
+                onSpawnAsteroid(newSize, oldCentreX, oldCentreY, velocityX, velocityY);
                 sameVelocity = !sameVelocity;
             }
         }
@@ -353,11 +521,11 @@ public class GameWorld implements InputListener, UpdateListener {
             // look so silly when game objects keep moving after the player's hit an asteroid.
             player.velocity.set(0, 0);
             player.angularVelocity = 0;
-            for (Projectile projectile : projectiles) {
-                projectile.velocity.set(0, 0);
+            for (int i = 0; i < projectiles.size(); i++) {
+                projectiles.setVelocity(i, 0, 0);
             }
-            for (Asteroid asteroid : asteroids) {
-                asteroid.velocity.set(0, 0);
+            for (int i = 0; i < asteroids.size(); i++) {
+                asteroids.setVelocity(i, 0, 0);
             }
 
             if (onGameEndListener != null) {
@@ -404,4 +572,20 @@ public class GameWorld implements InputListener, UpdateListener {
 
         public void onGameEnd(int finalScore);
     }
+
+    /*
+     * Used to tell someone exactly when each piece of the user's input took effect. Together with the seed, this is
+     * everything needed to play the same game again. Input from an AIPlayer isn't included, as the AIPlayer will
+     * produce it again by itself.
+     */
+    public interface OnUserInputHandledListener {
+
+        /*
+         * Called on the update thread, just before the event is handled.
+         * @param world The world handling the event.
+         * @param update The number of the update handling the event, starting from 0.
+         * @param event The event being handled.
+         */
+        public void onUserInputHandled(GameWorld world, long update, InputEvent event);
+    }
 }
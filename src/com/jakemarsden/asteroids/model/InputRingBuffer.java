@@ -0,0 +1,205 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.InputEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed-size queue of InputEvents, passed from exactly one producing thread to exactly one consuming thread without
+ * ever locking, blocking or allocating. Each event is stored as a primitive code alongside the System.nanoTime() at
+ * which it was offered, so the consumer can tell how long it waited.
+ * <p/>
+ * If the producer gets too far ahead of the consumer and the buffer fills up, offer() never waits for room. Instead the
+ * OverflowPolicy decides what happens to the event.
+ *
+ * @author jakemarsden
+ */
+public class InputRingBuffer {
+
+    /*
+     * Events which set the same piece of the Player's state (its rotation or its acceleration) share a channel. Only
+     * the most recent event on each channel matters, as each one replaces whatever the last one did.
+     */
+    private static final int NO_CHANNEL = -1, CHANNEL_ROTATION = 0, CHANNEL_ACCELERATION = 1, CHANNEL_COUNT = 2;
+    /*
+     * InputEvent.values() creates a new array every time it's called, so keep our own copy.
+     */
+    private static final InputEvent[] EVENTS = InputEvent.values();
+
+
+    private final OverflowPolicy overflowPolicy;
+    /*
+     * The ordinal of each event and the time it was offered. The event with sequence number n is stored at n & mask.
+     */
+    private final int[] codes;
+
+    private final long[] times;
+
+    private final int mask;
+    /*
+     * The sequence number of the next event to be consumed. Only ever written by the consumer.
+     */
+    private final AtomicLong head = new AtomicLong();
+    /*
+     * The sequence number of the next event to be produced. Only ever written by the producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+    /*
+     * The ordinal of the most recent event accepted on each channel, or -1 if there hasn't been one. Only ever touched
+     * by the producer.
+     */
+    private final int[] lastAcceptedOnChannel = new int[CHANNEL_COUNT];
+    /*
+     * Only ever touched by the consumer.
+     */
+    private long lastPolledTime;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+
+    /*
+     * @param capacity How many events the buffer can hold. Rounded up to the next power of two.
+     * @param overflowPolicy What to do with events which won't fit.
+     */
+    public InputRingBuffer(int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.overflowPolicy = overflowPolicy;
+        codes = new int[size];
+        times = new long[size];
+        mask = size - 1;
+        for (int i = 0; i < CHANNEL_COUNT; i++) {
+            lastAcceptedOnChannel[i] = -1;
+        }
+    }
+
+
+    /*
+     * Adds an event to the end of the buffer. Must only be called by the producing thread. Never blocks.
+     * @param event The event to add.
+     * @param time The System.nanoTime() at which the event happened.
+     * @return False if the event was dropped because the buffer was full.
+     */
+    public boolean offer(InputEvent event, long time) {
+        final int channel = channelOf(event);
+        if (overflowPolicy == OverflowPolicy.COALESCE && channel != NO_CHANNEL
+                && lastAcceptedOnChannel[channel] == event.ordinal()) {
+            // The consumer will already be in this state once it's caught up, so this event wouldn't change anything.
+            coalescedCount.incrementAndGet();
+            return true;
+        }
+
+        final long t = tail.get();
+        if (t - head.get() > mask) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        codes[(int) t & mask] = event.ordinal();
+        times[(int) t & mask] = time;
+        // lazySet() makes sure the event is written before the consumer can see the new tail, without a full barrier.
+        tail.lazySet(t + 1);
+
+        if (channel != NO_CHANNEL) {
+            lastAcceptedOnChannel[channel] = event.ordinal();
+        }
+        return true;
+    }
+
+    /*
+     * Removes the event at the front of the buffer. Must only be called by the consuming thread.
+     * @return The event, or null if the buffer is empty. The time it was offered can be found with getLastPolledTime().
+     */
+    public InputEvent poll() {
+        final long h = head.get();
+        if (h == tail.get()) {
+            return null;
+        }
+        final InputEvent event = EVENTS[codes[(int) h & mask]];
+        lastPolledTime = times[(int) h & mask];
+        head.lazySet(h + 1);
+        return event;
+    }
+
+    /*
+     * @return The time at which the event most recently returned by poll() was offered.
+     */
+    public long getLastPolledTime() {
+        return lastPolledTime;
+    }
+
+
+    /*
+     * @return Roughly how many events are waiting to be consumed.
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /*
+     * @return How many events have been dropped because the buffer was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /*
+     * @return How many events have been skipped because they wouldn't have changed anything.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+
+    private static int channelOf(InputEvent event) {
+        switch (event) {
+            case START_PLAYER_ROTATION_LEFT:
+            case START_PLAYER_ROTATION_RIGHT:
+            case STOP_PLAYER_ROTATION:
+                return CHANNEL_ROTATION;
+
+            case START_PLAYER_ACCELERATION:
+            case STOP_PLAYER_ACCELERATION:
+                return CHANNEL_ACCELERATION;
+
+            default:
+                return NO_CHANNEL;
+        }
+    }
+
+
+    /*
+     * @return A human-readable string representing this class. Useful for debugging
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{"
+                + "size=" + size() + ", "
+                + "capacity=" + codes.length + ", "
+                + "dropped=" + getDroppedCount() + ", "
+                + "coalesced=" + getCoalescedCount()
+                + "}";
+    }
+
+
+    /*
+     * What to do with an event which is offered when the buffer is already full.
+     */
+    public enum OverflowPolicy {
+
+        /*
+         * Drop the new event.
+         */
+        DROP(),
+        /*
+         * Skip any START or STOP event which repeats the last one accepted for the same part of the Player's state, as
+         * it would have no effect. This is done whether or not the buffer is full, so that a producer which repeats
+         * itself (like the AIPlayer, which re-sends its rotation every update) can't fill the buffer up. Anything else
+         * which doesn't fit is dropped. FIRE_PROJECTILE and TOGGLE_AUDIO_MUTE are never skipped.
+         */
+        COALESCE();
+    }
+}
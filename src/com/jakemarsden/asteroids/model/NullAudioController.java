@@ -0,0 +1,28 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.InputEvent;
+
+/**
+ * An AudioController which never plays anything. Used when the game is running without a device to play sounds on,
+ * for example when it's being simulated on a plain JVM.
+ *
+ * @author jakemarsden
+ */
+public class NullAudioController implements AudioController {
+
+    public NullAudioController() {
+    }
+
+
+    @Override
+    public void handleUserInput(GameWorld world, InputEvent event) {
+    }
+
+    @Override
+    public void onAsteroidDestroyed() {
+    }
+
+    @Override
+    public void release() {
+    }
+}
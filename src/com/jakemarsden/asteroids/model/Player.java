@@ -1,11 +1,9 @@
 package com.jakemarsden.asteroids.model;
 
-import android.graphics.PointF;
-import android.graphics.RectF;
 import com.jakemarsden.asteroids.InputEvent;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.jakemarsden.asteroids.util.IntList;
+import com.jakemarsden.asteroids.util.Rectangle;
+import com.jakemarsden.asteroids.util.Vector2;
 
 /**
  * This class represents an object controlled by the user which they can use to destroy and evade asteroids. It defines
@@ -13,7 +11,7 @@ import java.util.List;
  *
  * @author jakemarsden
  */
-public class Player {
+public class Player implements AsteroidStore.RemovalListener {
 
     /*
      * Cache this value so we don't have to recalculate it all the time
@@ -46,6 +44,15 @@ public class Player {
      * How much to scale SHAPE by when initializing the Player. A value of 1 will make the Player 235x350 pixels large.
      */
     private static final float SHAPE_SCALE = 0.4f;
+    /*
+     * The radius of each Projectile fired by the Player.
+     */
+    private static final float PROJECTILE_RADIUS = 8;
+    /*
+     * How fast each Projectile travels away from the Player, on top of the Player's own velocity. Package-private so
+     * that the AIPlayer can work out where to aim.
+     */
+    static final float PROJECTILE_SPEED = 12;
 
 
     /*
@@ -55,7 +62,7 @@ public class Player {
     /*
      * The [x,y] velocity of the Player, which will be added to position after each update.
      */
-    public final PointF velocity = new PointF();
+    public final Vector2 velocity = new Vector2();
     /*
      * The acceleration of the Player, which will be added to velocity after each update, based on angle.
      */
@@ -74,15 +81,32 @@ public class Player {
      * If set to false, this object will soon be removed from the game.
      */
     public boolean isAlive = true;
+    /*
+     * Holds the Player's boundaries while updating, so that a new Rectangle doesn't need to be created every update.
+     */
+    private final Rectangle bounds = new Rectangle();
+    /*
+     * The Player's shape, rotated by angle and positioned on the screen. Every Asteroid is tested against this during
+     * an update, so it's worked out once and only worked out again once the Player has moved or turned.
+     */
+    private final float[] rotatedHull;
+    /*
+     * The boundaries of rotatedHull.
+     */
+    private final Rectangle rotatedHullBounds = new Rectangle();
+    /*
+     * The angle and position the Player had when rotatedHull was last worked out.
+     */
+    private float rotatedHullAngle = Float.NaN, rotatedHullX = Float.NaN, rotatedHullY = Float.NaN;
 
 
     public Player() {
-        final List<PointF> points = new ArrayList<PointF>();
-        for (int i = 1; i < SHAPE.length; i += 2) {
-            final PointF point = new PointF(SHAPE[i - 1] * SHAPE_SCALE, SHAPE[i] * SHAPE_SCALE);
-            points.add(point);
+        final float[] vertices = new float[SHAPE.length];
+        for (int i = 0; i < SHAPE.length; i++) {
+            vertices[i] = SHAPE[i] * SHAPE_SCALE;
         }
-        position = new Polygon(0, 0, points);
+        position = new Polygon(0, 0, vertices);
+        rotatedHull = new float[2 * position.getVertexCount()];
     }
 
 
@@ -137,19 +161,19 @@ public class Player {
                 (float) (acceleration * Math.sin(angle))
         );
 
-        // cap the velocity
-        final double vMagnitude = Math.hypot(velocity.x, velocity.y);
-        if (vMagnitude > 15) {
-            final double vAngle = Math.atan2(velocity.y, velocity.x);
-            velocity.x = (float) (15 * Math.cos(vAngle));
-            velocity.y = (float) (15 * Math.sin(vAngle));
+        // cap the velocity. Compare the squared magnitude so we only need a square root when we're going too fast.
+        final double vMagnitudeSquared = velocity.x * velocity.x + velocity.y * velocity.y;
+        if (vMagnitudeSquared > 15 * 15) {
+            final double scale = 15 / Math.sqrt(vMagnitudeSquared);
+            velocity.x = (float) (velocity.x * scale);
+            velocity.y = (float) (velocity.y * scale);
         }
 
         // move
         position.offset(velocity.x, velocity.y);
 
         // if we're off-screen, shove us to the other side
-        final RectF bounds = position.getBounds();
+        position.getBounds(bounds);
         float correction;
         if ((correction = world.screenBounds.left - bounds.right) > 0) {
             position.offsetTo(world.screenBounds.right - correction, position.getCentreY());
@@ -162,29 +186,70 @@ public class Player {
             position.offsetTo(position.getCentreX(), world.screenBounds.top - correction);
         }
 
-        // check if we've hit an asteroid
-        for (Asteroid asteroid : world.asteroids) {
-            if (asteroid.position.overlaps(position, angle, true)) {
+        // check if we've hit an asteroid. Our rotated shape is the same for every Asteroid, so only rotate it once.
+        updateRotatedHull();
+        final IntList nearbyAsteroids = world.asteroidGrid.query(
+                rotatedHullBounds.left, rotatedHullBounds.top,
+                rotatedHullBounds.right, rotatedHullBounds.bottom
+        );
+        for (int i = 0; i < nearbyAsteroids.size(); i++) {
+            if (world.asteroids.overlaps(nearbyAsteroids.get(i), position, rotatedHull, rotatedHullBounds, true)) {
                 // Have hit an Asteroid
                 isAlive = false;
             }
         }
     }
 
+    /*
+     * Works out rotatedHull and rotatedHullBounds again, but only if the Player has moved or turned since they were
+     * last worked out.
+     */
+    private void updateRotatedHull() {
+        if (angle != rotatedHullAngle || position.getCentreX() != rotatedHullX || position.getCentreY() != rotatedHullY) {
+            position.getRotatedVertices(angle, rotatedHull, rotatedHullBounds);
+            rotatedHullAngle = angle;
+            rotatedHullX = position.getCentreX();
+            rotatedHullY = position.getCentreY();
+        }
+    }
+
+    /*
+     * Called by the GameWorld whenever a dead Asteroid is removed from the game. Does nothing by default, but anything
+     * which holds on to the index of an Asteroid will need to forget it here.
+     * @param i The index the removed Asteroid used to have.
+     */
+    @Override
+    public void onAsteroidRemoved(int i) {
+    }
+
+    /*
+     * Called by the GameWorld whenever an Asteroid is moved to fill the gap left by a removed one. Does nothing by
+     * default, but anything which holds on to the index of an Asteroid will need to update it here.
+     * @param from The index the Asteroid used to have.
+     * @param to The index the Asteroid has now.
+     */
+    @Override
+    public void onAsteroidMoved(int from, int to) {
+    }
+
+    /*
+     * @return How far from the Player's centre each Projectile is spawned.
+     */
+    float getProjectileSpawnDistance() {
+        return position.getBounds(bounds).height() / 2f;
+    }
+
     private void fireProjectile(GameWorld world) {
-        final Projectile projectile = new Projectile(8);
-        final RectF bounds = position.getBounds();
+        position.getBounds(bounds);
         final double mag = bounds.height() / 2f;
-        projectile.position.set(
+        world.onSpawnProjectile(
                 bounds.centerX() + (float) (mag * Math.cos(angle)),
-                bounds.centerY() + (float) (mag * Math.sin(angle))
-        );
-        projectile.velocity.set(
+                bounds.centerY() + (float) (mag * Math.sin(angle)),
                 // The velocity of the player plus a bit more
-                velocity.x + (float) (12 * Math.cos(angle)),
-                velocity.y + (float) (12 * Math.sin(angle))
+                velocity.x + (float) (PROJECTILE_SPEED * Math.cos(angle)),
+                velocity.y + (float) (PROJECTILE_SPEED * Math.sin(angle)),
+                PROJECTILE_RADIUS
         );
-        world.onSpawnProjectile(projectile);
     }
 
 
@@ -193,7 +258,7 @@ public class Player {
      */
     @Override
     public String toString() {
-        final RectF bounds = position.getBounds();
+        final Rectangle bounds = position.getBounds();
         return getClass().getSimpleName() + "{"
                 + "position=[" + bounds.left + "," + bounds.top + "," + bounds.right + "," + bounds.bottom + "], "
                 + "velocity=[" + velocity.x + "," + velocity.y + "], "
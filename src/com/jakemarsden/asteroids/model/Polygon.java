@@ -1,15 +1,12 @@
 package com.jakemarsden.asteroids.model;
 
-import android.graphics.PointF;
-import android.graphics.RectF;
-
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import com.jakemarsden.asteroids.util.Rectangle;
+import com.jakemarsden.asteroids.util.Vector2;
 
 /**
- * Represents a closed Polygon. The 'shape' of a Polygon and its 'position' are stored separately. A Polygon will have
- * at least 3 vertexes at all times and the user has no control of a Polygon's shape once it has been created.
+ * Represents a closed Polygon. The 'shape' of a Polygon and its 'position' are stored separately, and the shape (see
+ * PolygonShape) may be shared between many Polygons. A Polygon will have at least 3 vertexes at all times and the user
+ * has no control of a Polygon's shape once it has been created.
  *
  * @author jakemarsden
  */
@@ -18,40 +15,64 @@ public class Polygon {
     /*
      * Stuff this value into memory so we don't have to recalculate all the time.
      */
-    private static final double HALF_PI = Math.PI / 2d;
+    static final double HALF_PI = Math.PI / 2d;
 
 
     /*
-     * Determines the Polygon's location. Storing the position separately means the whole array of PointFs doesn't need
+     * Determines the Polygon's location. Storing the position separately means the whole array of vertices doesn't need
      * to be updated every time the Polygon moves. During collision detection and vertex retrieval, the centre is added
      * to the vertex in question to give the actual location of the point.
      */
-    private final PointF centre = new PointF();
+    private final Vector2 centre = new Vector2();
+    /*
+     * Determines the Polygon's shape, along with its boundaries and convex pieces. The shape is immutable, so it may be
+     * shared with any number of other Polygons.
+     */
+    private PolygonShape shape;
+
+
+    /*
+     * @param centreX The x-coordinate of the rough centre of the Polygon
+     * @param centreY The y-coordinate or the rough centre of the Polygon
+     * @param vertices The points which should make up the shape of the Polygon, as pairs of [x,y] coordinates one
+     *          after the other. The rough centre of these points should generally be [0,0]. The array is copied, so
+     *          modifying it afterwards will not effect the Polygon in any way.
+     */
+    public Polygon(float centreX, float centreY, float[] vertices) {
+        this(centreX, centreY, vertices, vertices.length / 2);
+    }
+
     /*
-     * Determines the Polygon's shape. The rough centre of these points should generally be [0,0].
+     * @param centreX The x-coordinate of the rough centre of the Polygon
+     * @param centreY The y-coordinate or the rough centre of the Polygon
+     * @param vertices The points which should make up the shape of the Polygon. See PolygonShape(float[], int).
+     * @param vertexCount How many vertices to take from the array.
      */
-    private final List<PointF> points = new ArrayList<PointF>();
+    public Polygon(float centreX, float centreY, float[] vertices, int vertexCount) {
+        this(centreX, centreY, new PolygonShape(vertices, vertexCount));
+    }
+
     /*
-     * Stores the boundaries of the Polygon for quick collision rejection. If a point to be tested lies outside of these
-     * boundaries then that point cannot lie withing the Polygon itself.
+     * @param centreX The x-coordinate of the rough centre of the Polygon
+     * @param centreY The y-coordinate or the rough centre of the Polygon
+     * @param shape The shape of the Polygon, which is shared rather than copied.
      */
-    private final RectF bounds = new RectF();
+    public Polygon(float centreX, float centreY, PolygonShape shape) {
+        this.centre.set(centreX, centreY);
+        this.shape = shape;
+    }
 
 
     /*
+     * Gives this Polygon a new shape and location, as if it had just been created with them. Used to recycle the
+     * Polygons of dead Asteroids (see AsteroidObjectStore).
      * @param centreX The x-coordinate of the rough centre of the Polygon
      * @param centreY The y-coordinate or the rough centre of the Polygon
-     * @param points The points which should make up the shape of the Polygon. The rough centre of these points should
-     *          generally be [0,0].
+     * @param shape The new shape of the Polygon, which is shared rather than copied.
      */
-    public Polygon(float centreX, float centreY, Collection<? extends PointF> points) {
-        if (points.size() < 3) {
-            throw new IllegalArgumentException("A Polygon must have 3+ vertices");
-        } else {
-            this.centre.set(centreX, centreY);
-            this.points.addAll(points);
-            computeBounds();
-        }
+    void setShape(float centreX, float centreY, PolygonShape shape) {
+        this.centre.set(centreX, centreY);
+        this.shape = shape;
     }
 
 
@@ -60,21 +81,28 @@ public class Polygon {
      * @return How many vertices this Polygon has
      */
     public int getVertexCount() {
-        return points.size();
+        return shape.vertexCount;
     }
 
     /*
      * @return The x-coordinate of the ith vertex of this Polygon
      */
     public float getX(int i) {
-        return points.get(i).x + centre.x;
+        return shape.vertices[2 * i] + centre.x;
     }
 
     /*
      * @return The y-coordinate of the ith vertex of this Polygon
      */
     public float getY(int i) {
-        return points.get(i).y + centre.y;
+        return shape.vertices[2 * i + 1] + centre.y;
+    }
+
+    /*
+     * @return The shape of this Polygon, without its position.
+     */
+    public PolygonShape getShape() {
+        return shape;
     }
 
 
@@ -96,8 +124,29 @@ public class Polygon {
     /*
      * @return The outside boundaries of this Polygon. Modifying this Object will not effect the Polygon in any way.
      */
-    public RectF getBounds() {
-        return new RectF(bounds.left + centre.x, bounds.top + centre.y, bounds.right + centre.x, bounds.bottom + centre.y);
+    public Rectangle getBounds() {
+        return getBounds(new Rectangle());
+    }
+
+    /*
+     * Writes the outside boundaries of this Polygon into an existing rectangle. Use this instead of getBounds() in
+     * code which runs every update or every frame, so that no new objects need to be created.
+     * @param result The rectangle to store the boundaries in.
+     * @return result, for convenience.
+     */
+    public Rectangle getBounds(Rectangle result) {
+        final Rectangle bounds = shape.bounds;
+        result.set(bounds.left + centre.x, bounds.top + centre.y, bounds.right + centre.x, bounds.bottom + centre.y);
+        return result;
+    }
+
+
+    /*
+     * @return The distance from the rough centre of this Polygon to its furthest vertex. A circle of this radius about
+     *          the centre will contain the Polygon no matter how it is rotated.
+     */
+    public float getBoundingRadius() {
+        return shape.boundingRadius;
     }
 
 
@@ -132,28 +181,43 @@ public class Polygon {
         // Instead of adding [this.centre.x, this.centre.y] to everything, let's just subtract it from the test points.
         testX -= centre.x;
         testY -= centre.y;
-        if (useQuickRejection && (testX < bounds.left
-                || testY < bounds.top
-                || testX > bounds.right
-                || testY > bounds.bottom)) {
+        if (useQuickRejection && (testX < shape.bounds.left
+                || testY < shape.bounds.top
+                || testX > shape.bounds.right
+                || testY > shape.bounds.bottom)) {
             return false;
         } else {
-            boolean inside = false;
-            /*
-             * Adapted from Reply #10 of http://www.java-gaming.org/index.php?topic=26013.0, by pitbuller
-             * Code posted 02/09/2012. Retrieved 05/04/2014.
-             */
-            for (int i = 0, j = points.size() - 1; i < points.size(); j = i++) {
-                if (((points.get(i).y > testY) != (points.get(j).y > testY)) &&
-                        (testX < (points.get(j).x - points.get(i).x) * (testY - points.get(i).y) / (points.get(j).y - points.get(i).y) + points.get(i).x)) {
-                    inside = !inside;
-                }
+            return contains(shape.vertices, shape.vertexCount, testX, testY);
+        }
+    }
+
+    /*
+     * The test behind contains(float, float, boolean), for a shape stored as pairs of [x,y] coordinates. Shared with
+     * AsteroidArrayStore.
+     * @param vertices The shape to test, relative to its centre
+     * @param count How many vertices make up the shape
+     * @param testX The x coordinate of the point to test, relative to the centre of the shape
+     * @param testY The y coordinate of the point to test, relative to the centre of the shape
+     * @return True if the point lies within the shape, including if the point lies right on the edge.
+     */
+    static boolean contains(float[] vertices, int count, float testX, float testY) {
+        boolean inside = false;
+        /*
+         * Adapted from Reply #10 of http://www.java-gaming.org/index.php?topic=26013.0, by pitbuller
+         * Code posted 02/09/2012. Retrieved 05/04/2014.
+         */
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            final float xi = vertices[2 * i], yi = vertices[2 * i + 1],
+                    xj = vertices[2 * j], yj = vertices[2 * j + 1];
+            if (((yi > testY) != (yj > testY)) &&
+                    (testX < (xj - xi) * (testY - yi) / (yj - yi) + xi)) {
+                inside = !inside;
             }
-            /*
-             *
-             */
-            return inside;
         }
+        /*
+         *
+         */
+        return inside;
     }
 
     /*
@@ -180,42 +244,97 @@ public class Polygon {
     }
 
     /*
-     * If some or all of the test Polygon is inside this Polygon
+     * If some or all of the test Polygon is inside this Polygon, i.e. if the two Polygons overlap at all.
      * @param testPoly The Polygon to test
      * @param useQuickRejection Whether or not to first check if the boundaries overlap. Pass false if you know the
      *          Polygons are close to each other (in this case, this check is redundant)
-     * @param True if this Polygon contains any or all of the test Polygon's vertices, including if they lie right on
-     *          the edge.
+     * @param True if the Polygons overlap, including if they only touch.
      */
     public boolean overlaps(Polygon testPoly, boolean useQuickRejection) {
         if (useQuickRejection && quickRejectOverlappingBoundaries(testPoly)) {
             // Boundaries don't overlap so the Polygons can't overlap.
             return false;
         } else {
-            for (int i = 0; i < testPoly.getVertexCount(); i++) {
-                // Only needs to contain ONE point to overlap. No quick rejection here as we've already done it.
-                if (contains(testPoly.getX(i), testPoly.getY(i), false)) {
+            return overlapsPieces(shape.vertices, shape.convexPieces, centre.x, centre.y,
+                    testPoly.shape.vertices, testPoly.shape.convexPieces, testPoly.centre.x, testPoly.centre.y);
+        }
+    }
+
+    /*
+     * If some or all of the test Polygon is inside this Polygon, where the test Polygon's vertices have been moved (and
+     * usually rotated) elsewhere. This is typically used with the output of getRotatedVertices(), so that a rotated
+     * Polygon can be tested against many others without having to rotate it again each time.
+     * @param testPoly The Polygon to test. Only its convex pieces are used, its own vertices and position are ignored.
+     * @param testPolyVertices The actual positions of testPoly's vertices, as pairs of [x,y] coordinates one after the
+     *          other.
+     * @param testPolyBounds The boundaries of testPolyVertices.
+     * @param useQuickRejection Whether or not to first check if the boundaries overlap. Pass false if you know the
+     *          Polygons are close to each other (in this case, this check is redundant)
+     * @return True if the Polygons overlap, including if they only touch.
+     */
+    public boolean overlaps(Polygon testPoly, float[] testPolyVertices, Rectangle testPolyBounds, boolean useQuickRejection) {
+        if (useQuickRejection && quickRejectOverlappingBoundaries(testPolyBounds.left, testPolyBounds.top, testPolyBounds.right, testPolyBounds.bottom)) {
+            // Boundaries don't overlap so the Polygons can't overlap.
+            return false;
+        } else {
+            return overlapsPieces(shape.vertices, shape.convexPieces, centre.x, centre.y,
+                    testPolyVertices, testPoly.shape.convexPieces, 0, 0);
+        }
+    }
+
+    /*
+     * Tests every convex piece of shape A against every convex piece of shape B, stopping as soon as a pair is found
+     * which overlap. Shared with AsteroidArrayStore.
+     * @param verticesA The vertices of shape A, as pairs of [x,y] coordinates one after the other.
+     * @param piecesA The convex pieces of shape A, as indices into its vertices.
+     * @param offsetAX How far to move each of A's vertices along the horizontal axis.
+     * @param offsetAY How far to move each of A's vertices along the vertical axis.
+     * @return True if any of A's pieces overlaps any of B's pieces.
+     */
+    static boolean overlapsPieces(float[] verticesA, int[][] piecesA, float offsetAX, float offsetAY,
+                                  float[] verticesB, int[][] piecesB, float offsetBX, float offsetBY) {
+        for (int[] pieceA : piecesA) {
+            for (int[] pieceB : piecesB) {
+                // Two convex shapes overlap unless there's a gap between them along the normal of one of their edges.
+                if (!hasSeparatingAxis(verticesA, pieceA, offsetAX, offsetAY, verticesB, pieceB, offsetBX, offsetBY)
+                        && !hasSeparatingAxis(verticesB, pieceB, offsetBX, offsetBY, verticesA, pieceA, offsetAX, offsetAY)) {
                     return true;
                 }
             }
-            return false;
         }
+        return false;
     }
 
     /*
-      * If some or all of the rotated test Polygon is inside this Polygon.
-      * @param testPoly The Polygon to test
-      * @param testPolyRotation By how much testPoly has been rotated
-      * @param useQuickRejection Whether or not to first check if each point is in the boundary box. Pass false if you
-      *         know the Polygons are close to each other (in this case, this check is redundant)
-      * @param True if this Polygon contains any or all of the test Polygon's vertices, including if they lie right on
-      *          the edge.
-      */
-    public boolean overlaps(Polygon testPoly, double testPolyRotation, boolean useQuickRejection) {
-        // TODO this isn't optimal as we need to check both ways. However, for its current application, this works fine.
-        for (int i = 0; i < testPoly.getVertexCount(); i++) {
-            final PointF rotatedPoint = rotatePoint(testPoly.getX(i), testPoly.getY(i), testPoly.getCentreX(), testPoly.getCentreY(), testPolyRotation);
-            if (contains(rotatedPoint.x, rotatedPoint.y, useQuickRejection)) {
+     * Checks whether the normal to any edge of convex piece A separates it from convex piece B, i.e. whether the two
+     * pieces don't overlap at all when projected onto that normal. If such an axis exists, the pieces can't overlap.
+     * @return True if one of A's edges gives a separating axis.
+     */
+    private static boolean hasSeparatingAxis(float[] verticesA, int[] pieceA, float offsetAX, float offsetAY,
+                                             float[] verticesB, int[] pieceB, float offsetBX, float offsetBY) {
+        for (int i = 0, j = pieceA.length - 1; i < pieceA.length; j = i++) {
+            // The normal of the edge [j,i]. There's no need to normalize it as we only compare projections against
+            // each other.
+            final int vi = 2 * pieceA[i], vj = 2 * pieceA[j];
+            final float axisX = verticesA[vj + 1] - verticesA[vi + 1];
+            final float axisY = verticesA[vi] - verticesA[vj];
+
+            float minA = Float.MAX_VALUE, maxA = -Float.MAX_VALUE;
+            for (int k = 0; k < pieceA.length; k++) {
+                final int v = 2 * pieceA[k];
+                final float projection = (verticesA[v] + offsetAX) * axisX + (verticesA[v + 1] + offsetAY) * axisY;
+                minA = Math.min(minA, projection);
+                maxA = Math.max(maxA, projection);
+            }
+            float minB = Float.MAX_VALUE, maxB = -Float.MAX_VALUE;
+            for (int k = 0; k < pieceB.length; k++) {
+                final int v = 2 * pieceB[k];
+                final float projection = (verticesB[v] + offsetBX) * axisX + (verticesB[v + 1] + offsetBY) * axisY;
+                minB = Math.min(minB, projection);
+                maxB = Math.max(maxB, projection);
+            }
+
+            if (maxA < minB || maxB < minA) {
                 return true;
             }
         }
@@ -223,18 +342,33 @@ public class Polygon {
     }
 
     /*
-     * Rotates a point around the origin by a number of radians
-     * @param x The x-coordinate of the point to rotate
-     * @param y The y-coordinate of the point to rotate
-     * @param originX The x-coordinate of the origin to rotate the point about
-     * @param originY The y-coordinate of the origin to rotate the point about
-     * @param angle The angle to rotate the point, in radians
-     * @return The specified point, but rotated the specified number of radians about the specified origin.
+     * Rotates this Polygon's vertices about its centre and stores the results in the given array. Note that, like the
+     * Player's sprite, an angle of 0 points the Polygon's top towards the right of the screen.
+     * @param rotation By how much to rotate the vertices, in radians.
+     * @param result Where to store the rotated vertices, as pairs of [x,y] coordinates one after the other. This must
+     *          have room for at least 2 * getVertexCount() floats.
+     * @param resultBounds Where to store the boundaries of the rotated vertices.
      */
-    private static PointF rotatePoint(float x, float y, float originX, float originY, double angle) {
-        final double newX = Math.cos(angle + HALF_PI) * (x - originX) - Math.sin(angle + HALF_PI) * (y - originY) + originX;
-        final double newY = Math.sin(angle + HALF_PI) * (x - originX) + Math.cos(angle + HALF_PI) * (y - originY) + originY;
-        return new PointF((float) newX, (float) newY);
+    public void getRotatedVertices(double rotation, float[] result, Rectangle resultBounds) {
+        final double cos = Math.cos(rotation + HALF_PI);
+        final double sin = Math.sin(rotation + HALF_PI);
+        float left, top, right, bottom;
+        left = top = Float.MAX_VALUE;
+        right = bottom = -Float.MAX_VALUE;
+        for (int i = 0; i < shape.vertexCount; i++) {
+            final float x = shape.vertices[2 * i];
+            final float y = shape.vertices[2 * i + 1];
+            final float rotatedX = (float) (cos * x - sin * y + centre.x);
+            final float rotatedY = (float) (sin * x + cos * y + centre.y);
+            result[2 * i] = rotatedX;
+            result[2 * i + 1] = rotatedY;
+
+            left = Math.min(left, rotatedX);
+            top = Math.min(top, rotatedY);
+            right = Math.max(right, rotatedX);
+            bottom = Math.max(bottom, rotatedY);
+        }
+        resultBounds.set(left, top, right, bottom);
     }
 
 
@@ -255,44 +389,65 @@ public class Polygon {
             // Contains the centre point so the Polygon must overlap the circle.
             return true;
         } else {
+            // Compare squared distances so we don't need to take any square roots.
+            final float radiusSquared = testRadius * testRadius;
             for (int i = 1; i < getVertexCount(); i++) {
-                final PointF closestPointOnEdge = closestPointOnEdge(i - 1, i, testX, testY);
-                if (Math.hypot(testX - closestPointOnEdge.x, testY - closestPointOnEdge.y) <= testRadius) {
+                if (distanceToEdgeSquared(i - 1, i, testX, testY) <= radiusSquared) {
                     // Only ONE edge needs to cross the circle for an overlap.
                     return true;
                 }
             }
             // Check if the last edge of the Polygon crosses the circle.
-            final PointF closestPointOnLastEdge = closestPointOnEdge(0, getVertexCount() - 1, testX, testY);
-            return Math.hypot(testX - closestPointOnLastEdge.x, testY - closestPointOnLastEdge.y) <= testRadius;
+            return distanceToEdgeSquared(0, getVertexCount() - 1, testX, testY) <= radiusSquared;
         }
     }
 
 
     /*
-     * Finds the closest point to [testX,testY] which lies on the line given by [vertex1,vertex2].
+     * Finds the square of the distance between [testX,testY] and the closest point to it which lies on the line given
+     * by [vertex1,vertex2].
      * @param vertex1 The index of the first point which makes up the edge.
      * @param vertex2 The index of the second point which makes up the edge. This should be (vertex1 - 1) or
      *          (vertex1 + 1). However, if (vertex1 == 0), vertex2 should be (getVertexCount() - 1).
      * @param testX The x-coordinate of the point to test
      * @param testY The y-coordinate of the point to test
-     * @return The point on the line between vertex1 and vertex2 which is closest to the point [testX, testY]. This
-     *          could also be vertex1 or vertex2.
+     * @return The squared distance from the point [testX, testY] to the closest point on the line between vertex1 and
+     *          vertex2. The closest point could also be vertex1 or vertex2.
+     */
+    private double distanceToEdgeSquared(int vertex1, int vertex2, float testX, float testY) {
+        return distanceToEdgeSquared(shape.vertices, vertex1, vertex2, centre.x, centre.y, testX, testY);
+    }
+
+    /*
+     * The sum behind distanceToEdgeSquared(int, int, float, float), for a shape stored as pairs of [x,y] coordinates.
+     * Shared with AsteroidArrayStore.
+     * @param vertices The shape the edge belongs to, relative to its centre
+     * @param vertex1 The index of the pair holding the first point which makes up the edge.
+     * @param vertex2 The index of the pair holding the second point which makes up the edge.
+     * @param centreX The x-coordinate of the centre of the shape
+     * @param centreY The y-coordinate of the centre of the shape
      */
-    private PointF closestPointOnEdge(int vertex1, int vertex2, float testX, float testY) {
-        final float vx1 = getX(vertex1),
-                vy1 = getY(vertex1),
-                vx2 = getX(vertex2),
-                vy2 = getY(vertex2);
+    static double distanceToEdgeSquared(float[] vertices, int vertex1, int vertex2, float centreX, float centreY, float testX, float testY) {
+        final float vx1 = vertices[2 * vertex1] + centreX,
+                vy1 = vertices[2 * vertex1 + 1] + centreY,
+                vx2 = vertices[2 * vertex2] + centreX,
+                vy2 = vertices[2 * vertex2 + 1] + centreY;
 
         double u = ((testX - vx1) * (vx2 - vx1) + (testY - vy1) * (vy2 - vy1)) / ((vx2 - vx1) * (vx2 - vx1) + (vy2 - vy1) * (vy2 - vy1));
+        double closestX, closestY;
         if (u > 1.0) {
-            return new PointF(vx2, vy2);
+            closestX = vx2;
+            closestY = vy2;
         } else if (u <= 0.0) {
-            return new PointF(vx1, vy1);
+            closestX = vx1;
+            closestY = vy1;
         } else {
-            return new PointF((float) (vx2 * u + vx1 * (1.0 - u) + 0.5), (float) (vy2 * u + vy1 * (1.0 - u) + 0.5));
+            closestX = (float) (vx2 * u + vx1 * (1.0 - u) + 0.5);
+            closestY = (float) (vy2 * u + vy1 * (1.0 - u) + 0.5);
         }
+        final double dx = testX - closestX;
+        final double dy = testY - closestY;
+        return dx * dx + dy * dy;
     }
 
 
@@ -303,10 +458,10 @@ public class Polygon {
      */
     private boolean quickRejectOverlappingBoundaries(Polygon testPoly) {
         return quickRejectOverlappingBoundaries(
-                testPoly.bounds.left + testPoly.centre.x,
-                testPoly.bounds.top + testPoly.centre.y,
-                testPoly.bounds.right + testPoly.centre.x,
-                testPoly.bounds.bottom + testPoly.centre.y
+                testPoly.shape.bounds.left + testPoly.centre.x,
+                testPoly.shape.bounds.top + testPoly.centre.y,
+                testPoly.shape.bounds.right + testPoly.centre.x,
+                testPoly.shape.bounds.bottom + testPoly.centre.y
         );
     }
 
@@ -317,6 +472,7 @@ public class Polygon {
      * @return False if the boundaries of the test rectangle intersect with the boundaries of this Polygon.
      */
     private boolean quickRejectOverlappingBoundaries(float left, float top, float right, float bottom) {
+        final Rectangle bounds = shape.bounds;
         return left > bounds.right + centre.x
                 || right < bounds.left + centre.x
                 || top > bounds.bottom + centre.y
@@ -324,33 +480,6 @@ public class Polygon {
     }
 
 
-    /*
-     * Should be called whenever the shape of the Polygon changes. This, however, should only happen as part of the
-     * constructor as the calling class should never have access to the Polygon's shape post-initialization. This
-     * does not need to be called when the shape is just moved, i.e. by calling offset().
-     */
-    private void computeBounds() {
-        float left, top, right, bottom;
-        left = top = Float.MAX_VALUE;
-        right = bottom = Float.MIN_VALUE;
-        for (PointF testPoint : points) {
-            if (testPoint.x < left) {
-                left = testPoint.x;
-            }
-            if (testPoint.y < top) {
-                top = testPoint.y;
-            }
-            if (testPoint.x > right) {
-                right = testPoint.x;
-            }
-            if (testPoint.y > bottom) {
-                bottom = testPoint.y;
-            }
-        }
-        bounds.set(left, top, right, bottom);
-    }
-
-
     /*
      * @return A human-readable string representing this class. Useful for debugging
      */
@@ -364,13 +493,13 @@ public class Polygon {
                 .append(",")
                 .append(centre.y)
                 .append("], points={");
-        for (int i = 0; i < points.size(); i++) {
+        for (int i = 0; i < shape.vertexCount; i++) {
             result.append("[")
-                    .append(points.get(i).x)
+                    .append(shape.vertices[2 * i])
                     .append(",")
-                    .append(points.get(i).y)
+                    .append(shape.vertices[2 * i + 1])
                     .append("]");
-            if (i < points.size() - 1) {
+            if (i < shape.vertexCount - 1) {
                 result.append(", ");
             }
         }
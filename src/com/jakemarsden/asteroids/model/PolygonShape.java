@@ -0,0 +1,116 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.Rectangle;
+
+import java.util.Arrays;
+
+/**
+ * The shape of a Polygon, without its position. Everything about a shape which is expensive to work out (its
+ * boundaries, its bounding radius and its convex pieces) is worked out once when the shape is created. Shapes are
+ * immutable, so any number of Polygons and Asteroids can share the same one, each at its own position.
+ *
+ * @author jakemarsden
+ */
+public class PolygonShape {
+
+    /*
+     * The shape's vertices, as pairs of [x,y] coordinates one after the other. The ith vertex is stored at
+     * vertices[2*i] and vertices[2*i+1]. The rough centre of these points should generally be [0,0].
+     */
+    final float[] vertices;
+
+    final int vertexCount;
+    /*
+     * The boundaries of the shape, relative to its centre.
+     */
+    final Rectangle bounds = new Rectangle();
+    /*
+     * The distance from the centre to the furthest vertex. Unlike bounds, this stays valid however the shape is rotated.
+     */
+    final float boundingRadius;
+    /*
+     * The shape split into convex pieces, each given as an array of indices into vertices. See ConvexDecomposer.
+     */
+    final int[][] convexPieces;
+
+
+    /*
+     * @param vertices The points which make up the shape, as pairs of [x,y] coordinates one after the other. The rough
+     *          centre of these points should generally be [0,0]. Only the first vertexCount pairs are used, so the array
+     *          may be longer than it needs to be. The array is copied, so modifying it afterwards will not effect the
+     *          shape in any way.
+     * @param vertexCount How many vertices to take from the array.
+     */
+    public PolygonShape(float[] vertices, int vertexCount) {
+        if (vertexCount < 3) {
+            throw new IllegalArgumentException("A Polygon must have 3+ vertices");
+        } else if (vertices.length < 2 * vertexCount) {
+            throw new IllegalArgumentException("Expected " + vertexCount + " vertices but only " + vertices.length / 2 + " were given");
+        }
+        this.vertices = Arrays.copyOf(vertices, 2 * vertexCount);
+        this.vertexCount = vertexCount;
+        this.convexPieces = ConvexDecomposer.decompose(this.vertices, vertexCount);
+
+        float left, top, right, bottom;
+        left = top = Float.MAX_VALUE;
+        right = bottom = -Float.MAX_VALUE;
+        double radius = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            final float x = this.vertices[2 * i], y = this.vertices[2 * i + 1];
+            radius = Math.max(radius, Math.hypot(x, y));
+            if (x < left) {
+                left = x;
+            }
+            if (y < top) {
+                top = y;
+            }
+            if (x > right) {
+                right = x;
+            }
+            if (y > bottom) {
+                bottom = y;
+            }
+        }
+        bounds.set(left, top, right, bottom);
+        boundingRadius = (float) radius;
+    }
+
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /*
+     * @return The x-coordinate of the ith vertex, relative to the centre of the shape.
+     */
+    public float getX(int i) {
+        return vertices[2 * i];
+    }
+
+    /*
+     * @return The y-coordinate of the ith vertex, relative to the centre of the shape.
+     */
+    public float getY(int i) {
+        return vertices[2 * i + 1];
+    }
+
+    /*
+     * @return The distance from the centre of the shape to its furthest vertex.
+     */
+    public float getBoundingRadius() {
+        return boundingRadius;
+    }
+
+
+    /*
+     * @return A human-readable string representing this class. Useful for debugging
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{"
+                + "vertexCount=" + vertexCount + ", "
+                + "bounds=[" + bounds.left + "," + bounds.top + "," + bounds.right + "," + bounds.bottom + "], "
+                + "convexPieces=" + convexPieces.length
+                + "}";
+    }
+}
@@ -1,31 +1,28 @@
 package com.jakemarsden.asteroids.model;
 
-import android.graphics.PointF;
+import com.jakemarsden.asteroids.util.Vector2;
 
 /**
  * This class represents an object the user is able to fire in order to destroy asteroids. It defines only the object's
- * state and behaviour and says nothing about its appearance to the user.
+ * state and behaviour and says nothing about its appearance to the user. Projectiles are only used like this by
+ * ProjectileObjectStore; ProjectileArrayStore keeps the same state in arrays instead.
  *
  * @author jakemarsden
  */
 public class Projectile {
 
     /*
-     * The radius of the projectile.
+     * The radius of the projectile. This only changes when the Projectile is recycled (see reset()).
      */
-    public final float radius;
+    public float radius;
     /*
      * The [x,y] location of this Projectile on the screen.
      */
-    public PointF position = new PointF();
+    public Vector2 position = new Vector2();
     /*
      * The [x,y] velocity of this Projectile, which will be added to position after each update.
      */
-    public PointF velocity = new PointF();
-    /*
-     * If set to false, this projectile will soon be removed from the game.
-     */
-    public boolean isAlive = true;
+    public Vector2 velocity = new Vector2();
 
 
     public Projectile(float radius) {
@@ -34,27 +31,22 @@ public class Projectile {
 
 
     /*
-     * Updates the Projectile's position, based on its velocity.
+     * Brings a dead Projectile back to life at a new position, as if it had just been created. This lets
+     * ProjectileObjectStore reuse the Projectiles which die instead of creating new ones.
      */
-    public void update(GameWorld world) {
-        // Move
-        position.offset(velocity.x, velocity.y);
+    void reset(float x, float y, float velocityX, float velocityY, float radius) {
+        position.set(x, y);
+        velocity.set(velocityX, velocityY);
+        this.radius = radius;
+    }
 
-        // Check if still in game.
-        if (!world.worldBounds.contains(position.x, position.y)) {
-            isAlive = false;
-        } else {
-            // Check if has hit an Asteroid
-            for (int i = 0; i < world.asteroids.size(); i++) {
-                final Asteroid asteroid = world.asteroids.get(i);
-                if (asteroid.position.overlaps(position.x, position.y, radius, true)) {
-                    // We just hit an asteroid, tell the GameWorld about it and mark our self as dead.
-                    world.onAsteroidDestroyed(asteroid);
-                    isAlive = false;
-                    break;
-                }
-            }
-        }
+
+    /*
+     * Updates the Projectile's position, based on its velocity. Whether it has left the game or hit anything is worked
+     * out by the ProjectileStore (see ProjectileStore.update()).
+     */
+    public void update() {
+        position.offset(velocity.x, velocity.y);
     }
 
 
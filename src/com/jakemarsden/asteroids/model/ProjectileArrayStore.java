@@ -0,0 +1,150 @@
+package com.jakemarsden.asteroids.model;
+
+import java.util.Arrays;
+
+/**
+ * A ProjectileStore which keeps the state of all Projectiles in parallel arrays of primitives, one element per
+ * Projectile, rather than each Projectile being an object of its own (with its own Vector2s for position and velocity).
+ * This means updating the Projectiles is a straight run through a few arrays instead of hopping around the heap from
+ * object to object. It also means firing a Projectile doesn't allocate anything once the arrays have grown large
+ * enough. See EntityStore.Layout.ARRAYS.
+ *
+ * @author jakemarsden
+ */
+public class ProjectileArrayStore extends ProjectileStore {
+
+    /*
+     * The [x,y] location of each Projectile on the screen.
+     */
+    private float[] positionX, positionY;
+    /*
+     * The [x,y] velocity of each Projectile, which will be added to its position after each update.
+     */
+    private float[] velocityX, velocityY;
+    /*
+     * The radius of each Projectile.
+     */
+    private float[] radius;
+
+
+    public ProjectileArrayStore() {
+        this(DEF_CAPACITY);
+    }
+
+    /*
+     * @param capacity How many Projectiles to make room for up-front.
+     */
+    public ProjectileArrayStore(int capacity) {
+        positionX = new float[capacity];
+        positionY = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        radius = new float[capacity];
+    }
+
+
+    @Override
+    public float getX(int i) {
+        return positionX[i];
+    }
+
+    @Override
+    public float getY(int i) {
+        return positionY[i];
+    }
+
+    @Override
+    public float getVelocityX(int i) {
+        return velocityX[i];
+    }
+
+    @Override
+    public float getVelocityY(int i) {
+        return velocityY[i];
+    }
+
+    @Override
+    public float getRadius(int i) {
+        return radius[i];
+    }
+
+    @Override
+    public void setVelocity(int i, float x, float y) {
+        velocityX[i] = x;
+        velocityY[i] = y;
+    }
+
+
+    @Override
+    public void add(float x, float y, float vx, float vy, float r) {
+        if (size == positionX.length) {
+            grow();
+        }
+        positionX[size] = x;
+        positionY[size] = y;
+        velocityX[size] = vx;
+        velocityY[size] = vy;
+        radius[size] = r;
+        size++;
+    }
+
+
+    /*
+     * Replaces every Projectile in this store with a copy of those in another, growing the arrays if necessary. Used
+     * to take snapshots of the game (see WorldSnapshot).
+     * @param other The store to copy, which may use either layout.
+     */
+    public void copyFrom(ProjectileStore other) {
+        while (positionX.length < other.size()) {
+            grow();
+        }
+        for (int i = 0; i < other.size(); i++) {
+            positionX[i] = other.getX(i);
+            positionY[i] = other.getY(i);
+            velocityX[i] = other.getVelocityX(i);
+            velocityY[i] = other.getVelocityY(i);
+            radius[i] = other.getRadius(i);
+        }
+        size = other.size();
+    }
+
+    @Override
+    void step(int i) {
+        positionX[i] += velocityX[i];
+        positionY[i] += velocityY[i];
+    }
+
+    @Override
+    void move(int from, int to) {
+        positionX[to] = positionX[from];
+        positionY[to] = positionY[from];
+        velocityX[to] = velocityX[from];
+        velocityY[to] = velocityY[from];
+        radius[to] = radius[from];
+    }
+
+
+    /*
+     * Doubles the length of each array, keeping the existing Projectiles.
+     */
+    private void grow() {
+        final int capacity = Math.max(DEF_CAPACITY, positionX.length * 2);
+        positionX = Arrays.copyOf(positionX, capacity);
+        positionY = Arrays.copyOf(positionY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        radius = Arrays.copyOf(radius, capacity);
+    }
+
+
+    /*
+     * @return A human-readable string representing this class. Useful for debugging
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{"
+                + "size=" + size + ", "
+                + "capacity=" + positionX.length
+                + "}";
+    }
+}
@@ -0,0 +1,110 @@
+package com.jakemarsden.asteroids.model;
+
+import java.util.Arrays;
+
+/**
+ * A ProjectileStore which keeps each Projectile as an object of its own, the way the game always used to. See
+ * EntityStore.Layout.OBJECTS.
+ * <p/>
+ * Like AsteroidObjectStore, dead Projectiles are kept as spares in the unused end of the array and reused by add(), so
+ * firing doesn't create a new Projectile once the game has had as many at once as it's going to.
+ *
+ * @author jakemarsden
+ */
+public class ProjectileObjectStore extends ProjectileStore {
+
+    /*
+     * Every Projectile in the game. Only the first 'size' elements are in use. Any elements after that which aren't
+     * null are spare Projectiles, waiting to be reused.
+     */
+    private Projectile[] projectiles;
+
+
+    public ProjectileObjectStore() {
+        this(DEF_CAPACITY);
+    }
+
+    /*
+     * @param capacity How many Projectiles to make room for up-front.
+     */
+    public ProjectileObjectStore(int capacity) {
+        projectiles = new Projectile[capacity];
+    }
+
+
+    @Override
+    public float getX(int i) {
+        return projectiles[i].position.x;
+    }
+
+    @Override
+    public float getY(int i) {
+        return projectiles[i].position.y;
+    }
+
+    @Override
+    public float getVelocityX(int i) {
+        return projectiles[i].velocity.x;
+    }
+
+    @Override
+    public float getVelocityY(int i) {
+        return projectiles[i].velocity.y;
+    }
+
+    @Override
+    public float getRadius(int i) {
+        return projectiles[i].radius;
+    }
+
+    @Override
+    public void setVelocity(int i, float x, float y) {
+        projectiles[i].velocity.set(x, y);
+    }
+
+
+    @Override
+    public void add(float x, float y, float vx, float vy, float r) {
+        if (size == projectiles.length) {
+            projectiles = Arrays.copyOf(projectiles, Math.max(DEF_CAPACITY, projectiles.length * 2));
+        }
+        final Projectile spare = projectiles[size];
+        if (spare != null) {
+            spare.reset(x, y, vx, vy, r);
+        } else {
+            final Projectile projectile = new Projectile(r);
+            projectile.position.set(x, y);
+            projectile.velocity.set(vx, vy);
+            projectiles[size] = projectile;
+        }
+        size++;
+    }
+
+
+    @Override
+    void step(int i) {
+        projectiles[i].update();
+    }
+
+    /*
+     * Swaps rather than copies, so the dead Projectile being overwritten is kept as a spare.
+     */
+    @Override
+    void move(int from, int to) {
+        final Projectile projectile = projectiles[from];
+        projectiles[from] = projectiles[to];
+        projectiles[to] = projectile;
+    }
+
+
+    /*
+     * @return A human-readable string representing this class. Useful for debugging
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{"
+                + "size=" + size + ", "
+                + "capacity=" + projectiles.length
+                + "}";
+    }
+}
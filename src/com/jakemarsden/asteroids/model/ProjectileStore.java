@@ -0,0 +1,276 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.IntList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Holds the state and defines the behaviour of every Projectile the user has fired. Projectiles are identified by their
+ * index, which is in the range [0, size()). Note that indices are only valid until the next call to update(), as dead
+ * Projectiles are removed and the remaining ones are shuffled down to fill the gap.
+ * <p/>
+ * There are two implementations, one for each EntityStore.Layout: ProjectileArrayStore keeps every Projectile in
+ * parallel arrays of primitives, and ProjectileObjectStore keeps an array of Projectile objects. Both behave exactly
+ * the same, so a game plays out the same whichever is used.
+ * <p/>
+ * Collisions with Asteroids are dealt with in two phases. First, every Projectile is moved and checked against the
+ * Asteroids, without changing anything else in the game. As no Projectile's check depends on any other's, this can be
+ * split into slices and run on several threads at once (see setCollisionExecutor()). Then, one at a time and in
+ * order, each Projectile destroys the first of the Asteroids it touched which is still alive. An Asteroid can only be
+ * destroyed once, by the first Projectile to reach it, and the Asteroids it splits into can't be hit until the next
+ * update. The outcome is exactly the same however many slices are used.
+ *
+ * @author jakemarsden
+ */
+public abstract class ProjectileStore implements EntityStore {
+
+    /*
+     * How many Projectiles there's room for before the store first needs to grow.
+     */
+    static final int DEF_CAPACITY = 32;
+    /*
+     * The fewest Projectiles worth splitting between threads. Below this, handing the slices to the collisionExecutor
+     * costs more than it saves.
+     */
+    private static final int MIN_PARALLEL_SIZE = 256;
+
+    /*
+     * How many Projectiles are currently in the game. Only the first 'size' elements of the store are in use.
+     */
+    int size = 0;
+    /*
+     * Filled in by the first phase of update(), one element per Projectile. Whether each Projectile has left the game,
+     * and where to find the Asteroids it touched in its slice's list of hits.
+     */
+    private boolean[] leftGame = new boolean[DEF_CAPACITY];
+
+    private int[] hitsStart = new int[DEF_CAPACITY], hitsEnd = new int[DEF_CAPACITY];
+    /*
+     * Each slice of Projectiles checked during the first phase of update(). There's only more than one if a
+     * collisionExecutor has been set.
+     */
+    private final List<CollisionSlice> slices = new ArrayList<CollisionSlice>();
+    /*
+     * Runs the slices of the first phase of update() in parallel, or null to run them all on the updating thread.
+     */
+    private ExecutorService collisionExecutor = null;
+    /*
+     * The number of Projectiles in each slice during the current update.
+     */
+    private int sliceLength = 1;
+
+
+    ProjectileStore() {
+        slices.add(new CollisionSlice());
+    }
+
+
+    /*
+     * @param layout How the new store should keep its Projectiles.
+     * @return A new, empty store.
+     */
+    public static ProjectileStore create(Layout layout) {
+        switch (layout) {
+            case ARRAYS:
+                return new ProjectileArrayStore();
+            case OBJECTS:
+                return new ProjectileObjectStore();
+            default:
+                throw new IllegalArgumentException("Unknown layout: " + layout);
+        }
+    }
+
+
+    /*
+     * @return How many Projectiles are currently in the game.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /*
+     * Sets the velocity of the ith Projectile.
+     */
+    public abstract void setVelocity(int i, float x, float y);
+
+
+    /*
+     * Adds a new Projectile to the game, growing the store if there isn't enough room for it.
+     * @param x The x-coordinate of the centre of the new Projectile.
+     * @param y The y-coordinate of the centre of the new Projectile.
+     * @param vx The horizontal velocity of the new Projectile.
+     * @param vy The vertical velocity of the new Projectile.
+     * @param r The radius of the new Projectile.
+     */
+    public abstract void add(float x, float y, float vx, float vy, float r);
+
+    /*
+     * Removes every Projectile from the game.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+
+    /*
+     * Lets the Projectiles be checked for collisions on several threads at once. This only pays off when there are a
+     * great many Projectiles, so fewer than MIN_PARALLEL_SIZE are still checked on the updating thread.
+     * @param executor Runs the slices, or null to check every Projectile on the updating thread. This mustn't be the
+     *          same fixed-size pool as is running the update itself, or the update could end up waiting on itself.
+     * @param sliceCount How many slices to split the Projectiles into, usually the number of threads in the executor.
+     */
+    public void setCollisionExecutor(ExecutorService executor, int sliceCount) {
+        if (sliceCount <= 0) {
+            throw new IllegalArgumentException("Must use at least 1 slice: " + sliceCount);
+        }
+        collisionExecutor = executor;
+        slices.clear();
+        for (int i = 0; i < (executor == null ? 1 : sliceCount); i++) {
+            slices.add(new CollisionSlice());
+        }
+    }
+
+
+    /*
+     * Moves each Projectile based on its velocity. Any Projectile which has left the game or has hit an Asteroid is
+     * removed. Rather than removing them one at a time, the Projectiles still alive are moved down over the dead
+     * ones as we go, so the whole thing is done in a single pass and the order of the Projectiles is preserved.
+     * @param world The world the Projectiles are a part of.
+     */
+    public void update(GameWorld world) {
+        detectCollisions(world);
+
+        int alive = 0;
+        for (int i = 0; i < size; i++) {
+            if (!leftGame[i] && !destroyFirstLiveHit(world, slices.get(i / sliceLength), i)) {
+                move(i, alive++);
+            } else {
+                // FIXME logging Logger.INSTANCE.v(getClass(), "Projectile left the game: " + i);
+            }
+        }
+        size = alive;
+    }
+
+    /*
+     * Moves the ith Projectile along by its velocity. Called from the first phase of update(), possibly by several
+     * threads at once, so this mustn't touch any other Projectile.
+     */
+    abstract void step(int i);
+
+    /*
+     * Moves the Projectile at index 'from' to index 'to', which is never after it. Used by update() to fill the gaps
+     * left by dead Projectiles. Whatever was at 'to' is no longer needed.
+     */
+    abstract void move(int from, int to);
+
+
+    /*
+     * The first phase of update(). Moves every Projectile and finds the Asteroids each one touches, splitting the work
+     * between the slices. Nothing but the Projectiles' own state is changed.
+     */
+    private void detectCollisions(GameWorld world) {
+        if (leftGame.length < size) {
+            final int capacity = Math.max(size, 2 * leftGame.length);
+            leftGame = Arrays.copyOf(leftGame, capacity);
+            hitsStart = Arrays.copyOf(hitsStart, capacity);
+            hitsEnd = Arrays.copyOf(hitsEnd, capacity);
+        }
+
+        final boolean parallel = collisionExecutor != null && size >= MIN_PARALLEL_SIZE;
+        final int sliceCount = parallel ? slices.size() : 1;
+        sliceLength = Math.max(1, (size + sliceCount - 1) / sliceCount);
+        for (int i = 0; i < slices.size(); i++) {
+            slices.get(i).set(world, Math.min(size, i * sliceLength), Math.min(size, (i + 1) * sliceLength));
+        }
+
+        if (!parallel) {
+            slices.get(0).call();
+            return;
+        }
+        try {
+            // Waiting on each Future also makes sure that everything the slices did is visible to this thread.
+            for (Future<Void> future : collisionExecutor.invokeAll(slices)) {
+                future.get();
+            }
+        } catch (InterruptedException err) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking for collisions", err);
+        } catch (ExecutionException err) {
+            throw new IllegalStateException("Failed to check for collisions", err.getCause());
+        }
+    }
+
+    /*
+     * The second phase of update(). If any of the Asteroids the ith Projectile touched are still alive, the first of
+     * them is destroyed.
+     * @return True if an Asteroid was destroyed, in which case the Projectile should be removed from the game.
+     */
+    private boolean destroyFirstLiveHit(GameWorld world, CollisionSlice slice, int i) {
+        for (int hit = hitsStart[i]; hit < hitsEnd[i]; hit++) {
+            final int asteroid = slice.hits.get(hit);
+            if (world.asteroids.isAlive(asteroid)) {
+                // We just hit an asteroid, tell the GameWorld about it.
+                world.onAsteroidDestroyed(asteroid);
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /*
+     * The first phase of update() for a range of Projectiles. Each Projectile in the range is moved, and if it's still
+     * in the game, every Asteroid it touches is added to hits in the order the AsteroidGrid returns them. Only the
+     * Projectiles in the range are written to, and the GameWorld is only read, so the slices can run at the same time.
+     */
+    private class CollisionSlice implements Callable<Void> {
+
+        private final IntList nearbyAsteroids = new IntList();
+
+        private final IntList hits = new IntList();
+
+        private GameWorld world;
+
+        private int start, end;
+
+
+        void set(GameWorld world, int start, int end) {
+            this.world = world;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Void call() {
+            hits.clear();
+            for (int i = start; i < end; i++) {
+                // Move
+                step(i);
+                final float x = getX(i), y = getY(i), r = getRadius(i);
+
+                // Check if still in game and if we've hit anything
+                leftGame[i] = !world.worldBounds.contains(x, y);
+                hitsStart[i] = hits.size();
+                if (!leftGame[i]) {
+                    // Only the Asteroids near to us could possibly have been hit.
+                    world.asteroidGrid.query(x - r, y - r, x + r, y + r, nearbyAsteroids);
+                    for (int j = 0; j < nearbyAsteroids.size(); j++) {
+                        final int asteroid = nearbyAsteroids.get(j);
+                        if (world.asteroids.isAlive(asteroid) && world.asteroids.overlaps(asteroid, x, y, r, true)) {
+                            hits.add(asteroid);
+                        }
+                    }
+                }
+                hitsEnd[i] = hits.size();
+            }
+            return null;
+        }
+    }
+}
@@ -1,11 +1,7 @@
 package com.jakemarsden.asteroids.model;
 
-import android.graphics.PointF;
 import com.jakemarsden.asteroids.util.Random;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * A static class to generate random Polygons.
  *
@@ -13,6 +9,16 @@ import java.util.List;
  */
 public class RandomPolygonGenerator {
 
+    /*
+     * The smallest and largest possible angles between two consecutive vertices.
+     */
+    private static final double MIN_ANGLE = Math.PI / 16d, MAX_ANGLE = Math.PI / 3d;
+    /*
+     * The most vertices a generated Polygon can have: the first vertex at angle 0, plus one for every MIN_ANGLE step
+     * which fits before a full turn.
+     */
+    static final int MAX_VERTICES = 1 + (int) Math.ceil(2d * Math.PI / MIN_ANGLE);
+
     private RandomPolygonGenerator() {
         throw new UnsupportedOperationException();
     }
@@ -29,19 +35,35 @@ public class RandomPolygonGenerator {
      * @return A randomly-generated Polygon.
      */
     public static Polygon createPolygon(Random rand, float centreX, float centreY, double minInternalRadius, double maxExternalRadius) {
-        List<PointF> points = new ArrayList<PointF>();
-        points.add(new PointF((float) rand.nextDouble(minInternalRadius, maxExternalRadius), 0));
+        final float[] vertices = new float[2 * MAX_VERTICES];
+        final int vertexCount = createShape(rand, minInternalRadius, maxExternalRadius, vertices);
+        return new Polygon(centreX, centreY, vertices, vertexCount);
+    }
+
+    /*
+     * Generates the shape of a random Polygon into an existing array, so that nothing needs to be created. The same
+     * random numbers are used as by createPolygon(), so a seeded generator gives the same shape either way.
+     * @param rand A random-number generator to use to generate the shape
+     * @param minInternalRadius The minimum distance any of the points are allowed to be from the centre
+     * @param maxExternalRadius The maximum distance any of the points are allowed to be from the centre
+     * @param vertices Where to store the shape, as pairs of [x,y] coordinates relative to the centre. Must have room for
+     *          MAX_VERTICES pairs.
+     * @return How many vertices were generated.
+     */
+    static int createShape(Random rand, double minInternalRadius, double maxExternalRadius, float[] vertices) {
+        vertices[0] = (float) rand.nextDouble(minInternalRadius, maxExternalRadius);
+        vertices[1] = 0;
+        int vertexCount = 1;
         for (double angle = randAngle(rand); angle < 2d * Math.PI; angle += randAngle(rand)) {
             final double radius = rand.nextDouble(minInternalRadius, maxExternalRadius);
-            points.add(new PointF(
-                    (float) (radius * Math.cos(angle)),
-                    (float) (radius * Math.sin(angle))
-            ));
+            vertices[2 * vertexCount] = (float) (radius * Math.cos(angle));
+            vertices[2 * vertexCount + 1] = (float) (radius * Math.sin(angle));
+            vertexCount++;
         }
-        return new Polygon(centreX, centreY, points);
+        return vertexCount;
     }
 
     private static double randAngle(Random rand) {
-        return rand.nextDouble(Math.PI / 16d, Math.PI / 3d);
+        return rand.nextDouble(MIN_ANGLE, MAX_ANGLE);
     }
 }
@@ -0,0 +1,76 @@
+package com.jakemarsden.asteroids.model;
+
+import com.jakemarsden.asteroids.util.Rectangle;
+
+/**
+ * A copy of everything needed to draw a GameWorld, as it was at the end of one update. Drawing from a snapshot rather
+ * than from the GameWorld itself means the game can carry on updating while the previous update is being drawn, and
+ * that the drawing code never sees the game half way through an update.
+ * <p/>
+ * The Projectiles and Asteroids are copied into stores of their own, which always use the array layout whatever layout
+ * the GameWorld itself uses. Snapshots are reused rather than recreated every update, and their stores start out as
+ * large as the GameWorld's, so they only grow when there's more in the game than ever before.
+ *
+ * @author jakemarsden
+ */
+public class WorldSnapshot {
+
+    /*
+     * A copy of every Projectile in the game.
+     */
+    public final ProjectileArrayStore projectiles = new ProjectileArrayStore();
+    /*
+     * A copy of every Asteroid in the game.
+     */
+    public final AsteroidArrayStore asteroids = new AsteroidArrayStore(GameWorld.ASTEROID_CAPACITY);
+
+    /*
+     * False until the first snapshot of a GameWorld with a Player has been taken.
+     */
+    public boolean hasPlayer = false;
+
+    public float playerCentreX, playerCentreY;
+    /*
+     * The (unrotated) boundaries of the Player.
+     */
+    public final Rectangle playerBounds = new Rectangle();
+
+    public float playerVelocityX, playerVelocityY;
+
+    public float playerAcceleration;
+
+    public float playerAngle;
+
+    public float playerAngularVelocity;
+
+    public int score;
+
+
+    public WorldSnapshot() {
+    }
+
+
+    /*
+     * Copies the current state of the world into this snapshot, replacing whatever was here before.
+     * @param world The world to take a snapshot of.
+     */
+    public void capture(GameWorld world) {
+        projectiles.copyFrom(world.projectiles);
+        world.asteroids.copyInto(asteroids);
+
+        final Player player = world.player;
+        hasPlayer = player != null;
+        if (hasPlayer) {
+            playerCentreX = player.position.getCentreX();
+            playerCentreY = player.position.getCentreY();
+            player.position.getBounds(playerBounds);
+            playerVelocityX = player.velocity.x;
+            playerVelocityY = player.velocity.y;
+            playerAcceleration = player.acceleration;
+            playerAngle = player.angle;
+            playerAngularVelocity = player.angularVelocity;
+        }
+
+        score = world.score;
+    }
+}
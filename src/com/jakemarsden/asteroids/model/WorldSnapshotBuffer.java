@@ -0,0 +1,66 @@
+package com.jakemarsden.asteroids.model;
+
+/**
+ * Passes WorldSnapshots from the thread updating the game to the thread drawing it, without either thread ever having
+ * to wait for the other to finish. Three snapshots are used: one which the updating thread is writing to, one which the
+ * drawing thread is reading from and the most recently published one in between. The only locking needed is to swap
+ * two references, so neither thread is ever held up for more than an instant.
+ *
+ * @author jakemarsden
+ */
+public class WorldSnapshotBuffer {
+
+    /*
+     * Only ever touched by the updating thread.
+     */
+    private WorldSnapshot writing = new WorldSnapshot();
+    /*
+     * The most recently published snapshot, which hasn't yet been picked up by the drawing thread.
+     */
+    private WorldSnapshot published = new WorldSnapshot();
+    /*
+     * Only ever touched by the drawing thread.
+     */
+    private WorldSnapshot reading = new WorldSnapshot();
+    /*
+     * True if a snapshot has been published since the drawing thread last picked one up.
+     */
+    private boolean hasNewSnapshot = false;
+
+
+    public WorldSnapshotBuffer() {
+    }
+
+
+    /*
+     * Takes a snapshot of the world and makes it available to the drawing thread. Should only be called by the thread
+     * which updates the world.
+     * @param world The world to take a snapshot of.
+     */
+    public void publish(GameWorld world) {
+        writing.capture(world);
+        synchronized (this) {
+            final WorldSnapshot temp = published;
+            published = writing;
+            writing = temp;
+            hasNewSnapshot = true;
+        }
+    }
+
+    /*
+     * Should only be called by the thread which draws the world.
+     * @return The most recently published snapshot. This remains valid, and won't be modified, until the next call
+     *          to this method.
+     */
+    public WorldSnapshot acquireLatest() {
+        synchronized (this) {
+            if (hasNewSnapshot) {
+                final WorldSnapshot temp = reading;
+                reading = published;
+                published = temp;
+                hasNewSnapshot = false;
+            }
+            return reading;
+        }
+    }
+}
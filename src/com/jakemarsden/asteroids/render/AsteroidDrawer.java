@@ -0,0 +1,96 @@
+package com.jakemarsden.asteroids.render;
+
+import com.jakemarsden.asteroids.model.AsteroidStore;
+
+import java.util.Arrays;
+
+/**
+ * Draws the outline of every Asteroid in an AsteroidStore. Drawing each edge with its own call means thousands of calls
+ * into native code every frame once the screen gets busy, so instead every edge of every Asteroid is written into one
+ * array and drawn with a single call to Renderer.drawLines(). This way, the time taken depends on how many edges there
+ * are rather than how many calls are made.
+ * <p/>
+ * Alternatively, each Asteroid can be drawn as its shape with Renderer.drawPolygon(). Asteroids share a small number of
+ * shapes (see AsteroidShapeLibrary), so a Renderer which keeps what it builds for each shape (such as CanvasRenderer,
+ * which keeps a Path of each) only builds a handful. This can be quicker on hardware-accelerated Canvases, which can
+ * keep each Path around on the GPU.
+ *
+ * @author jakemarsden
+ */
+public class AsteroidDrawer implements SceneDrawer<AsteroidStore> {
+
+    private static final int COLOUR = 0xffffffff;
+    /*
+     * How many edges there's room for in lines before it first needs to grow. Enough for around 80 Asteroids, which is
+     * more than a game usually gets to, so that growing the array doesn't show up as garbage while the game is drawn.
+     */
+    private static final int DEF_EDGE_CAPACITY = 1024;
+
+
+    /*
+     * If true, each Asteroid is drawn as its shape instead of being added to lines.
+     */
+    private final boolean drawShapes;
+    /*
+     * Every edge to be drawn this frame, as [x1,y1,x2,y2] one after the other. Reused every frame, and only grows when
+     * there are more edges on the screen than ever before.
+     */
+    private float[] lines = new float[4 * DEF_EDGE_CAPACITY];
+
+
+    public AsteroidDrawer() {
+        this(false);
+    }
+
+    /*
+     * @param drawShapes Pass true to draw each Asteroid with Renderer.drawPolygon(), or false to draw every Asteroid
+     *          with a single call to Renderer.drawLines().
+     */
+    public AsteroidDrawer(boolean drawShapes) {
+        this.drawShapes = drawShapes;
+    }
+
+
+    @Override
+    public void draw(Renderer renderer, AsteroidStore object, float interpolation) {
+        if (drawShapes) {
+            drawShapes(renderer, object, interpolation);
+        } else {
+            drawLines(renderer, object, interpolation);
+        }
+    }
+
+    private void drawLines(Renderer renderer, AsteroidStore object, float interpolation) {
+        int n = 0;
+        for (int a = 0; a < object.size(); a++) {
+            // How far the asteroid has moved since the last update
+            final float dx = object.getVelocityX(a) * interpolation;
+            final float dy = object.getVelocityY(a) * interpolation;
+
+            // Each vertex starts one edge, so there are as many edges as vertices.
+            final int vertexCount = object.getVertexCount(a);
+            if (n + 4 * vertexCount > lines.length) {
+                lines = Arrays.copyOf(lines, Math.max(2 * lines.length, n + 4 * vertexCount));
+            }
+
+            // Play dot-to-dot with the vertices, joining the last point to the first point to complete the polygon
+            for (int i = 0, prev = vertexCount - 1; i < vertexCount; prev = i++) {
+                lines[n++] = object.getVertexX(a, prev) + dx;
+                lines[n++] = object.getVertexY(a, prev) + dy;
+                lines[n++] = object.getVertexX(a, i) + dx;
+                lines[n++] = object.getVertexY(a, i) + dy;
+            }
+        }
+        if (n > 0) {
+            renderer.drawLines(lines, 0, n, COLOUR);
+        }
+    }
+
+    private void drawShapes(Renderer renderer, AsteroidStore object, float interpolation) {
+        for (int a = 0; a < object.size(); a++) {
+            final float x = object.getX(a) + object.getVelocityX(a) * interpolation;
+            final float y = object.getY(a) + object.getVelocityY(a) * interpolation;
+            renderer.drawPolygon(object.getShape(a), x, y, COLOUR);
+        }
+    }
+}
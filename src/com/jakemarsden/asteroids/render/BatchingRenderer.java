@@ -0,0 +1,318 @@
+package com.jakemarsden.asteroids.render;
+
+import com.jakemarsden.asteroids.model.PolygonShape;
+import com.jakemarsden.asteroids.util.Rectangle;
+
+/**
+ * A Renderer which doesn't draw anything straight away, but instead writes everything into three vertex buffers and
+ * draws each buffer with a single call at the end of the frame. The cost of each draw call is then paid a handful of
+ * times per frame rather than once for every object on the screen.
+ * <ul>
+ *     <li>Circles are broken up into triangles, each vertex with its own colour.</li>
+ *     <li>Lines and the edges of polygons are all written into one array of lines, which all share one colour.</li>
+ *     <li>Sprites are turned into a pair of textured triangles each, already rotated into place.</li>
+ * </ul>
+ * The buffers are always drawn in that order, so anything added to a buffer which is drawn earlier than one which
+ * already holds something (such as a circle drawn after a line) would end up underneath things which were drawn before
+ * it. When that happens, or when lines are drawn in a different colour to the lines already in the buffer, everything
+ * so far is drawn first and the buffers start again. The game never does either, so each frame is drawn with at most
+ * three calls.
+ * <p/>
+ * The buffers are reused every frame and only grow when a frame needs more room than any before it, so once the game
+ * has settled down, batching a frame doesn't allocate anything. Subclasses do the actual drawing.
+ *
+ * @author jakemarsden
+ */
+public abstract class BatchingRenderer implements Renderer {
+
+    /*
+     * How many straight edges each circle is broken up into. Projectiles are small enough that this looks round.
+     */
+    private static final int CIRCLE_SEGMENTS = 12;
+    /*
+     * How many vertices each circle needs: a triangle for each segment of its fill, and two for each of its border.
+     */
+    private static final int CIRCLE_VERTICES = 9 * CIRCLE_SEGMENTS;
+    /*
+     * How many vertices each sprite needs: two triangles.
+     */
+    private static final int SPRITE_VERTICES = 6;
+
+    private static final int DEF_TRIANGLE_CAPACITY = 64 * CIRCLE_VERTICES;
+
+    private static final int DEF_LINE_CAPACITY = 1024;
+
+    private static final int DEF_SPRITE_CAPACITY = 4;
+
+    /*
+     * The buffers, in the order they're drawn in.
+     */
+    private static final int
+            BUFFER_TRIANGLES = 0,
+            BUFFER_LINES = 1,
+            BUFFER_SPRITES = 2;
+
+
+    /*
+     * The cos and sin of the angle to each point around the edge of a circle.
+     */
+    private final float[] circleCos = new float[CIRCLE_SEGMENTS + 1];
+
+    private final float[] circleSin = new float[CIRCLE_SEGMENTS + 1];
+    /*
+     * The width and height of each sprite in the sprite sheet.
+     */
+    private final float spriteWidth, spriteHeight;
+    /*
+     * Where each sprite is drawn relative to its centre, when it isn't rotated.
+     */
+    private final Rectangle destination = new Rectangle();
+
+    /*
+     * Each vertex of each triangle, as [x,y], and the colour of each vertex.
+     */
+    private float[] triangleVertices = new float[2 * DEF_TRIANGLE_CAPACITY];
+
+    private int[] triangleColours = new int[DEF_TRIANGLE_CAPACITY];
+
+    private int triangleVertexCount = 0;
+    /*
+     * Each line, as [x1,y1,x2,y2], and how many values of lines are in use.
+     */
+    private float[] lines = new float[4 * DEF_LINE_CAPACITY];
+
+    private int lineValueCount = 0;
+
+    private int lineColour;
+    /*
+     * Each vertex of each sprite's triangles, as [x,y], and where in the sprite sheet each vertex is, in pixels.
+     */
+    private float[] spriteVertices = new float[2 * SPRITE_VERTICES * DEF_SPRITE_CAPACITY];
+
+    private float[] spriteTexCoords = new float[2 * SPRITE_VERTICES * DEF_SPRITE_CAPACITY];
+
+    private int spriteVertexCount = 0;
+    /*
+     * How many times the buffers have been drawn since the frame began.
+     */
+    private int drawCallCount = 0;
+
+
+    /*
+     * @param sheetWidth The width of the sprite sheet, in pixels.
+     * @param sheetHeight The height of the sprite sheet, in pixels.
+     * @param spriteCount How many sprites there are in the sprite sheet, side by side.
+     * @param destination Where each sprite should be drawn relative to its centre, when it isn't rotated.
+     */
+    protected BatchingRenderer(int sheetWidth, int sheetHeight, int spriteCount, Rectangle destination) {
+        for (int i = 0; i <= CIRCLE_SEGMENTS; i++) {
+            final double theta = 2 * Math.PI * i / CIRCLE_SEGMENTS;
+            circleCos[i] = (float) Math.cos(theta);
+            circleSin[i] = (float) Math.sin(theta);
+        }
+        spriteWidth = sheetWidth / spriteCount;
+        spriteHeight = sheetHeight;
+        this.destination.set(destination);
+    }
+
+
+    @Override
+    public void beginFrame(int colour) {
+        triangleVertexCount = 0;
+        lineValueCount = 0;
+        spriteVertexCount = 0;
+        drawCallCount = 0;
+        clear(colour);
+    }
+
+    @Override
+    public void drawLines(float[] lines, int offset, int count, int colour) {
+        prepare(BUFFER_LINES, colour);
+        if (lineValueCount + count > this.lines.length) {
+            this.lines = grow(this.lines, lineValueCount + count);
+        }
+        System.arraycopy(lines, offset, this.lines, lineValueCount, count);
+        lineValueCount += count;
+    }
+
+    @Override
+    public void drawPolygon(PolygonShape shape, float x, float y, int colour) {
+        prepare(BUFFER_LINES, colour);
+        final int vertexCount = shape.getVertexCount();
+        if (lineValueCount + 4 * vertexCount > lines.length) {
+            lines = grow(lines, lineValueCount + 4 * vertexCount);
+        }
+
+        // Join the last point to the first point to complete the polygon
+        int n = lineValueCount;
+        for (int v = 0, prev = vertexCount - 1; v < vertexCount; prev = v++) {
+            lines[n++] = shape.getX(prev) + x;
+            lines[n++] = shape.getY(prev) + y;
+            lines[n++] = shape.getX(v) + x;
+            lines[n++] = shape.getY(v) + y;
+        }
+        lineValueCount = n;
+    }
+
+    @Override
+    public void drawCircle(float x, float y, float radius, int fillColour, int borderColour, float borderWidth) {
+        prepare(BUFFER_TRIANGLES, 0);
+        if (triangleVertexCount + CIRCLE_VERTICES > triangleColours.length) {
+            triangleVertices = grow(triangleVertices, 2 * (triangleVertexCount + CIRCLE_VERTICES));
+            triangleColours = grow(triangleColours, triangleVertexCount + CIRCLE_VERTICES);
+        }
+
+        // The border is centred on the edge of the circle, so the fill only reaches its inside edge.
+        final float inner = radius - borderWidth / 2, outer = radius + borderWidth / 2;
+        for (int i = 0; i < CIRCLE_SEGMENTS; i++) {
+            // A slice of the fill
+            addTriangleVertex(x, y, fillColour);
+            addTriangleVertex(x + circleCos[i] * inner, y + circleSin[i] * inner, fillColour);
+            addTriangleVertex(x + circleCos[i + 1] * inner, y + circleSin[i + 1] * inner, fillColour);
+
+            // A piece of the border
+            addTriangleVertex(x + circleCos[i] * inner, y + circleSin[i] * inner, borderColour);
+            addTriangleVertex(x + circleCos[i] * outer, y + circleSin[i] * outer, borderColour);
+            addTriangleVertex(x + circleCos[i + 1] * outer, y + circleSin[i + 1] * outer, borderColour);
+            addTriangleVertex(x + circleCos[i] * inner, y + circleSin[i] * inner, borderColour);
+            addTriangleVertex(x + circleCos[i + 1] * outer, y + circleSin[i + 1] * outer, borderColour);
+            addTriangleVertex(x + circleCos[i + 1] * inner, y + circleSin[i + 1] * inner, borderColour);
+        }
+    }
+
+    @Override
+    public void drawSprite(int sprite, float centreX, float centreY, float degrees) {
+        prepare(BUFFER_SPRITES, 0);
+        if (spriteVertexCount + SPRITE_VERTICES > spriteVertices.length / 2) {
+            spriteVertices = grow(spriteVertices, 2 * (spriteVertexCount + SPRITE_VERTICES));
+            spriteTexCoords = grow(spriteTexCoords, 2 * (spriteVertexCount + SPRITE_VERTICES));
+        }
+
+        final double radians = Math.toRadians(degrees);
+        final float cos = (float) Math.cos(radians), sin = (float) Math.sin(radians);
+        final float u0 = sprite * spriteWidth, u1 = u0 + spriteWidth;
+
+        // Two triangles, top-left -> top-right -> bottom-right and top-left -> bottom-right -> bottom-left
+        addSpriteVertex(destination.left, destination.top, u0, 0, cos, sin, centreX, centreY);
+        addSpriteVertex(destination.right, destination.top, u1, 0, cos, sin, centreX, centreY);
+        addSpriteVertex(destination.right, destination.bottom, u1, spriteHeight, cos, sin, centreX, centreY);
+        addSpriteVertex(destination.left, destination.top, u0, 0, cos, sin, centreX, centreY);
+        addSpriteVertex(destination.right, destination.bottom, u1, spriteHeight, cos, sin, centreX, centreY);
+        addSpriteVertex(destination.left, destination.bottom, u0, spriteHeight, cos, sin, centreX, centreY);
+    }
+
+    @Override
+    public void endFrame() {
+        flush();
+    }
+
+    /*
+     * @return How many draw calls were made to draw the frame so far, not counting clear().
+     */
+    public int getDrawCallCount() {
+        return drawCallCount;
+    }
+
+
+    /*
+     * Fills the whole frame with the colour.
+     */
+    protected abstract void clear(int colour);
+
+    /*
+     * Draws a batch of triangles.
+     * @param vertices Each vertex of each triangle, as [x,y], three vertices to a triangle.
+     * @param colours The colour of each vertex.
+     * @param vertexCount How many vertices to draw.
+     */
+    protected abstract void drawTriangles(float[] vertices, int[] colours, int vertexCount);
+
+    /*
+     * Draws a batch of lines, in the same way as Canvas.drawLines().
+     * @param lines Each line, as [x1,y1,x2,y2].
+     * @param count How many values in lines to draw.
+     * @param colour The colour of every line.
+     */
+    protected abstract void drawLineBatch(float[] lines, int count, int colour);
+
+    /*
+     * Draws a batch of textured triangles from the sprite sheet.
+     * @param vertices Each vertex of each triangle, as [x,y], three vertices to a triangle.
+     * @param texCoords Where each vertex is in the sprite sheet, as [x,y], in pixels.
+     * @param vertexCount How many vertices to draw.
+     */
+    protected abstract void drawSpriteBatch(float[] vertices, float[] texCoords, int vertexCount);
+
+
+    /*
+     * Makes sure that adding to the buffer won't change the order things are drawn in, by drawing everything so far if
+     * it would.
+     * @param buffer The buffer about to be added to.
+     * @param colour The colour of the lines about to be added, ignored for other buffers.
+     */
+    private void prepare(int buffer, int colour) {
+        final boolean laterBufferUsed = (buffer < BUFFER_LINES && lineValueCount > 0)
+                || (buffer < BUFFER_SPRITES && spriteVertexCount > 0);
+        final boolean lineColourChanged = buffer == BUFFER_LINES && lineValueCount > 0 && colour != lineColour;
+        if (laterBufferUsed || lineColourChanged) {
+            flush();
+        }
+        if (buffer == BUFFER_LINES) {
+            lineColour = colour;
+        }
+    }
+
+    /*
+     * Draws everything in the buffers, then empties them.
+     */
+    private void flush() {
+        if (triangleVertexCount > 0) {
+            drawTriangles(triangleVertices, triangleColours, triangleVertexCount);
+            drawCallCount++;
+        }
+        if (lineValueCount > 0) {
+            drawLineBatch(lines, lineValueCount, lineColour);
+            drawCallCount++;
+        }
+        if (spriteVertexCount > 0) {
+            drawSpriteBatch(spriteVertices, spriteTexCoords, spriteVertexCount);
+            drawCallCount++;
+        }
+        triangleVertexCount = 0;
+        lineValueCount = 0;
+        spriteVertexCount = 0;
+    }
+
+    private void addTriangleVertex(float x, float y, int colour) {
+        triangleVertices[2 * triangleVertexCount] = x;
+        triangleVertices[2 * triangleVertexCount + 1] = y;
+        triangleColours[triangleVertexCount] = colour;
+        triangleVertexCount++;
+    }
+
+    /*
+     * Adds a corner of a sprite, rotating [x,y] about the sprite's centre and moving it into place.
+     */
+    private void addSpriteVertex(float x, float y, float u, float v, float cos, float sin, float centreX, float centreY) {
+        spriteVertices[2 * spriteVertexCount] = centreX + x * cos - y * sin;
+        spriteVertices[2 * spriteVertexCount + 1] = centreY + x * sin + y * cos;
+        spriteTexCoords[2 * spriteVertexCount] = u;
+        spriteTexCoords[2 * spriteVertexCount + 1] = v;
+        spriteVertexCount++;
+    }
+
+    /*
+     * @return A copy of the array with room for at least the specified number of values, at least twice as large.
+     */
+    private static float[] grow(float[] array, int needed) {
+        final float[] grown = new float[Math.max(2 * array.length, needed)];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private static int[] grow(int[] array, int needed) {
+        final int[] grown = new int[Math.max(2 * array.length, needed)];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
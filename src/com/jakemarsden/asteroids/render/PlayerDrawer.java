@@ -0,0 +1,88 @@
+package com.jakemarsden.asteroids.render;
+
+import com.jakemarsden.asteroids.model.Player;
+import com.jakemarsden.asteroids.model.WorldSnapshot;
+import com.jakemarsden.asteroids.util.Rectangle;
+
+/**
+ * Draws the Player from a WorldSnapshot, using whichever sprite from the Player's sprite sheet matches what the Player
+ * is currently doing. The sprite sheet itself belongs to the Renderer; this only decides which sprite to draw, where,
+ * and at what angle.
+ *
+ * @author jakemarsden
+ */
+public class PlayerDrawer implements SceneDrawer<WorldSnapshot> {
+
+    /*
+     * The image used to draw the Player is slightly larger than the Player's actual collision boundaries. This is
+     * to allow for the additional thruster when moving forwards. This value defines the size of said overhang and
+     * it MUST match the actual image.
+     * <p/>
+     * The factor here (0.4f) MUST be the same as Player.SHAPE_SCALE. Otherwise, the drawn image will stop matching
+     * the collision boundaries of the Player, resulting in strange behaviour.
+     */
+    private static final float PLAYER_IMAGE_OVERHANG = 75f * 0.4f;
+
+    /*
+     * How many sprites there are in the Player's sprite sheet (res/drawable/player_sprites.png).
+     */
+    public static final int SPRITE_COUNT = 6;
+
+    /*
+     * Represents the index of each sprite in the sprite sheet.
+     */
+    private static final int
+            SPRITE_NORMAL = 0,
+            SPRITE_ROT_CW = 1,
+            SPRITE_ROT_CCW = 2,
+            SPRITE_ACC = 3,
+            SPRITE_ROT_CW_ACC = 4,
+            SPRITE_ROT_CCW_ACC = 5;
+
+
+    /*
+     * @return Where each of the Player's sprites should be drawn relative to the Player's centre, when the Player isn't
+     *          rotated. This is what Renderers should be created with.
+     */
+    public static Rectangle getSpriteDestination() {
+        // The Player's shape never changes, so a new one has the same size as the one in the game.
+        // The image hangs off the bottom of the Player's boundaries, see PLAYER_IMAGE_OVERHANG.
+        final Rectangle destination = new Player().position.getBounds();
+        destination.bottom += PLAYER_IMAGE_OVERHANG;
+        return destination;
+    }
+
+
+    @Override
+    public void draw(Renderer renderer, WorldSnapshot object, float interpolation) {
+        if (!object.hasPlayer) {
+            return;
+        }
+
+        // Decide which image from the sprite sheet to draw, based on what the player is currently doing.
+        int spriteIndex;
+        if (object.playerAcceleration > 0) {
+            if (object.playerAngularVelocity > 0) {
+                spriteIndex = SPRITE_ROT_CW_ACC;
+            } else if (object.playerAngularVelocity < 0) {
+                spriteIndex = SPRITE_ROT_CCW_ACC;
+            } else {
+                spriteIndex = SPRITE_ACC;
+            }
+        } else {
+            if (object.playerAngularVelocity > 0) {
+                spriteIndex = SPRITE_ROT_CW;
+            } else if (object.playerAngularVelocity < 0) {
+                spriteIndex = SPRITE_ROT_CCW;
+            } else {
+                spriteIndex = SPRITE_NORMAL;
+            }
+        }
+
+        // Draw the player where it will have moved and turned to since the last update.
+        final float dx = object.playerVelocityX * interpolation;
+        final float dy = object.playerVelocityY * interpolation;
+        final float angle = object.playerAngle + object.playerAngularVelocity * interpolation;
+        renderer.drawSprite(spriteIndex, object.playerCentreX + dx, object.playerCentreY + dy, (float) Math.toDegrees(angle) + 90);
+    }
+}
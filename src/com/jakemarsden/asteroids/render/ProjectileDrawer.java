@@ -0,0 +1,27 @@
+package com.jakemarsden.asteroids.render;
+
+import com.jakemarsden.asteroids.model.ProjectileStore;
+
+/**
+ * Draws every Projectile in a ProjectileStore in one go.
+ *
+ * @author jakemarsden
+ */
+public class ProjectileDrawer implements SceneDrawer<ProjectileStore> {
+
+    private static final int FILL_COLOUR = 0xff000000;
+
+    private static final int BORDER_COLOUR = 0xffffffff;
+
+    private static final float BORDER_WIDTH = 2f;
+
+
+    @Override
+    public void draw(Renderer renderer, ProjectileStore object, float interpolation) {
+        for (int i = 0; i < object.size(); i++) {
+            final float x = object.getX(i) + object.getVelocityX(i) * interpolation;
+            final float y = object.getY(i) + object.getVelocityY(i) * interpolation;
+            renderer.drawCircle(x, y, object.getRadius(i), FILL_COLOUR, BORDER_COLOUR, BORDER_WIDTH);
+        }
+    }
+}
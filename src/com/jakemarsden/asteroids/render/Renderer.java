@@ -0,0 +1,67 @@
+package com.jakemarsden.asteroids.render;
+
+import com.jakemarsden.asteroids.model.PolygonShape;
+
+/**
+ * Something which the game world can be drawn with. The SceneDrawers describe each frame through this interface rather
+ * than drawing on an android.graphics.Canvas directly, so the same drawing code can be used whether each call goes
+ * straight to a Canvas, is batched up and drawn all at once at the end of the frame, or is drawn off-screen on a plain
+ * JVM. Nothing in this package depends on Android.
+ * <p/>
+ * Colours are packed ARGB ints, in the same format as android.graphics.Color. Each Renderer is created with the
+ * Player's sprite sheet, which holds its sprites side by side, each the same width. Sprites are drawn centred on a
+ * point, covering an area given to the Renderer when it's created (see PlayerDrawer.getSpriteDestination()).
+ * <p/>
+ * A Renderer which batches its calls may not draw anything until endFrame(), and may reorder the calls made during a
+ * frame, so long as nothing ends up drawn on top of anything which was drawn after it.
+ *
+ * @author jakemarsden
+ */
+public interface Renderer {
+
+    /*
+     * Starts a new frame, filling the whole frame with the colour.
+     * @param colour The background colour.
+     */
+    public void beginFrame(int colour);
+
+    /*
+     * Draws a series of lines, in the same way as Canvas.drawLines().
+     * @param lines The lines to draw, as [x1,y1,x2,y2] one after the other. This array may be reused by the caller as
+     *          soon as this returns.
+     * @param offset The index of the first value in lines to draw.
+     * @param count How many values in lines to draw. Each line takes 4 values.
+     * @param colour The colour of the lines.
+     */
+    public void drawLines(float[] lines, int offset, int count, int colour);
+
+    /*
+     * Draws the outline of a shape.
+     * @param shape The shape to draw. Shapes are usually shared (see AsteroidShapeLibrary), so a Renderer may keep
+     *          anything it builds from a shape to use again next time.
+     * @param x Where to draw the shape's [0,0].
+     * @param y Where to draw the shape's [0,0].
+     * @param colour The colour of the outline.
+     */
+    public void drawPolygon(PolygonShape shape, float x, float y, int colour);
+
+    /*
+     * Draws a filled circle with a border around it.
+     * @param borderWidth The width of the border, which is centred on the edge of the circle.
+     */
+    public void drawCircle(float x, float y, float radius, int fillColour, int borderColour, float borderWidth);
+
+    /*
+     * Draws a sprite from the sprite sheet.
+     * @param sprite The index of the sprite in the sprite sheet.
+     * @param centreX Where to draw the sprite's centre.
+     * @param centreY Where to draw the sprite's centre.
+     * @param degrees How far to rotate the sprite clockwise about its centre.
+     */
+    public void drawSprite(int sprite, float centreX, float centreY, float degrees);
+
+    /*
+     * Finishes the frame, making sure everything since beginFrame() has been drawn.
+     */
+    public void endFrame();
+}
@@ -0,0 +1,18 @@
+package com.jakemarsden.asteroids.render;
+
+/*
+ * Used to draw a game object of type T with a Renderer
+ *
+ * @author jakemarsden
+ */
+public interface SceneDrawer<T> {
+
+    /*
+     * Draw the game object with the renderer
+     * @param renderer The renderer to draw the object with, between its beginFrame() and endFrame()
+     * @param object The object to draw
+     * @param interpolation How far the game is between its last update and its next one, in the range [0, 1). Moving
+     *          objects should be drawn this far along their current path. Objects which don't move can ignore this.
+     */
+    public void draw(Renderer renderer, T object, float interpolation);
+}
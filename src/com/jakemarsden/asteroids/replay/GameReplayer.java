@@ -0,0 +1,156 @@
+package com.jakemarsden.asteroids.replay;
+
+import com.jakemarsden.asteroids.InputEvent;
+import com.jakemarsden.asteroids.model.GameWorld;
+import com.jakemarsden.asteroids.model.NullAudioController;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+
+/**
+ * Plays a game recorded by an InputRecorder again, as fast as possible and without a screen or sound. The world is set
+ * up exactly as it was when recorded and each piece of input is given to it just before the update which originally
+ * handled it, so the game plays out in exactly the same way. This is handy for reproducing a problem seen on a device,
+ * or for profiling a long game without having to sit through it.
+ * <p/>
+ * Recordings which were cut off before they were finished can still be played, up until the last recorded event.
+ * <p/>
+ * Usage: GameReplayer &lt;recording&gt;
+ *
+ * @author jakemarsden
+ */
+public class GameReplayer {
+
+    private static final InputEvent[] EVENTS = InputEvent.values();
+
+
+    private final DataInputStream in;
+
+    private final GameWorld world;
+    /*
+     * The number of the update which should handle the next event, and the event itself. nextEvent is null once the
+     * end of the recording has been reached, in which case nextUpdate is the total number of updates to play.
+     */
+    private long nextUpdate = 0;
+
+    private InputEvent nextEvent;
+
+    private boolean anyEventsRead = false;
+
+
+    /*
+     * Reads the header of the recording and sets up a world to match.
+     * @param in The recording. This is buffered, and is closed once the end of the recording is reached.
+     */
+    public GameReplayer(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        if (this.in.readInt() != InputRecorder.MAGIC) {
+            throw new IOException("Not a recording");
+        }
+        final int version = this.in.readUnsignedByte();
+        if (version != InputRecorder.VERSION) {
+            throw new IOException("Unsupported recording version: " + version);
+        }
+        final long seed = this.in.readLong();
+        final boolean aiControlled = this.in.readBoolean();
+        final int shapesPerAsteroidSize = this.in.readInt();
+        final float left = this.in.readFloat(),
+                top = this.in.readFloat(),
+                right = this.in.readFloat(),
+                bottom = this.in.readFloat();
+
+        world = new GameWorld(new NullAudioController(), seed, aiControlled, GameWorld.DEF_LAYOUT, shapesPerAsteroidSize);
+        world.onViewCreated(left, top, right, bottom);
+        readNextEvent();
+    }
+
+    public GameReplayer(File file) throws IOException {
+        this(new FileInputStream(file));
+    }
+
+
+    /*
+     * Plays the rest of the recording.
+     * @return How many updates were performed.
+     */
+    public long replay() throws IOException {
+        long updates = 0;
+        while (world.getUpdateCount() < nextUpdate || nextEvent != null) {
+            // Events for this update must be given to the world before it starts, as that's when it handles input.
+            final long update = world.getUpdateCount();
+            while (nextEvent != null && nextUpdate == update) {
+                world.onUserInput(nextEvent);
+                readNextEvent();
+            }
+            world.onGameUpdate();
+            updates++;
+        }
+        return updates;
+    }
+
+    public GameWorld getWorld() {
+        return world;
+    }
+
+
+    private void readNextEvent() throws IOException {
+        try {
+            final long delta = readVarLong();
+            final int code = in.readUnsignedByte();
+            nextUpdate += delta;
+            if (code == InputRecorder.END_OF_RECORDING) {
+                nextEvent = null;
+                in.close();
+            } else if (code < EVENTS.length) {
+                nextEvent = EVENTS[code];
+                anyEventsRead = true;
+            } else {
+                throw new IOException("Unknown event code: " + code);
+            }
+        } catch (EOFException err) {
+            // The recording was cut off. Play whatever we've got, finishing with the update which handled the last event.
+            nextEvent = null;
+            nextUpdate = anyEventsRead ? nextUpdate + 1 : 0;
+            in.close();
+        }
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: " + GameReplayer.class.getSimpleName() + " <recording>");
+            System.exit(1);
+        }
+        final GameReplayer replayer = new GameReplayer(new File(args[0]));
+        final long startTime = System.nanoTime();
+        final long updates = replayer.replay();
+        final long elapsed = System.nanoTime() - startTime;
+
+        final GameWorld world = replayer.getWorld();
+        System.out.println("updates:         " + updates);
+        System.out.println("elapsed:         " + (elapsed / 1000000) + "ms");
+        System.out.println("updates/second:  " + (elapsed == 0 ? "-" : String.valueOf((long) (updates * 1e9 / elapsed))));
+        System.out.println("score:           " + world.score);
+        System.out.println("asteroids:       " + world.asteroids.size());
+        System.out.println();
+        world.metrics.dump(new OutputStreamWriter(System.out));
+    }
+}
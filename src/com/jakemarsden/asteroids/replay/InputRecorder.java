@@ -0,0 +1,150 @@
+package com.jakemarsden.asteroids.replay;
+
+import com.jakemarsden.asteroids.InputEvent;
+import com.jakemarsden.asteroids.model.GameWorld;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Records everything needed to play a game again: the world's seed and set-up, followed by every piece of the user's
+ * input along with the number of the update which handled it. As every random event in the game comes from the seed,
+ * feeding the same input into a new world at the same updates plays out exactly the same game. See GameReplayer.
+ * <p/>
+ * The recording is a compact binary stream. After the header, each event takes just 2 bytes (the number of updates
+ * since the previous event, as a variable-length integer, followed by the event's code) unless events are more than
+ * 127 updates apart. The recording ends with a marker giving the total number of updates.
+ * <p/>
+ * Register this with GameWorld.setOnUserInputHandledListener() and call finish() when the game ends. If writing ever
+ * fails, recording simply stops: a broken recording should never break the game itself.
+ *
+ * @author jakemarsden
+ */
+public class InputRecorder implements GameWorld.OnUserInputHandledListener {
+
+    static final int MAGIC = 0x41535452; // "ASTR"
+
+    static final int VERSION = 1;
+    /*
+     * The code which marks the end of the recording, in place of an event's code.
+     */
+    static final int END_OF_RECORDING = 0xff;
+
+
+    private final DataOutputStream out;
+
+    private boolean headerWritten = false;
+
+    private boolean failed = false;
+
+    private boolean finished = false;
+    /*
+     * The number of the update which handled the last recorded event.
+     */
+    private long lastUpdate = 0;
+
+
+    /*
+     * @param out Where to write the recording. This will be buffered, and is closed by finish().
+     */
+    public InputRecorder(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    /*
+     * @param file The file to write the recording to, replacing anything already in it.
+     */
+    public InputRecorder(File file) throws IOException {
+        this(new FileOutputStream(file));
+    }
+
+
+    @Override
+    public synchronized void onUserInputHandled(GameWorld world, long update, InputEvent event) {
+        if (failed || finished) {
+            return;
+        }
+        try {
+            writeHeaderIfNeeded(world);
+            writeVarLong(update - lastUpdate);
+            out.writeByte(event.ordinal());
+            lastUpdate = update;
+        } catch (IOException err) {
+            onWriteFailed(err);
+        }
+    }
+
+    /*
+     * Ends the recording and closes the stream. Should be called once the game has ended, or once we're no longer
+     * interested in recording it. Anything recorded afterwards is ignored. May be called from any thread.
+     * @param world The world which was being recorded.
+     */
+    public synchronized void finish(GameWorld world) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            if (!failed) {
+                writeHeaderIfNeeded(world);
+                writeVarLong(world.getUpdateCount() - lastUpdate);
+                out.writeByte(END_OF_RECORDING);
+            }
+            out.close();
+        } catch (IOException err) {
+            onWriteFailed(err);
+        }
+    }
+
+    /*
+     * @return True if something went wrong while writing, in which case the recording is incomplete.
+     */
+    public boolean hasFailed() {
+        return failed;
+    }
+
+
+    /*
+     * The header is written lazily, as the world's screen boundaries aren't known until its view has been created.
+     */
+    private void writeHeaderIfNeeded(GameWorld world) throws IOException {
+        if (headerWritten) {
+            return;
+        }
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(world.randomGenerator.getSeed());
+        out.writeBoolean(world.isAIControlled());
+        out.writeInt(world.asteroidShapes.getShapesPerSize());
+        out.writeFloat(world.screenBounds.left);
+        out.writeFloat(world.screenBounds.top);
+        out.writeFloat(world.screenBounds.right);
+        out.writeFloat(world.screenBounds.bottom);
+        headerWritten = true;
+    }
+
+    /*
+     * Writes a non-negative number 7 bits at a time, least significant first. The top bit of each byte is set if more
+     * bytes follow.
+     */
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7fL) != 0) {
+            out.writeByte((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private void onWriteFailed(IOException err) {
+        // FIXME logging Logger.INSTANCE.w(getClass(), "Failed to write recording, recording stopped", err);
+        failed = true;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.jakemarsden.asteroids.util;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of ints. Used in place of a List of Integers in code which runs every update, so that nothing needs
+ * to be boxed.
+ *
+ * @author jakemarsden
+ */
+public class IntList {
+
+    /*
+     * How many elements there's room for before the array first needs to grow.
+     */
+    private static final int DEF_CAPACITY = 16;
+
+    private int[] elements;
+    /*
+     * How many elements are in the list. Only the first 'size' elements of the array are in use.
+     */
+    private int size = 0;
+
+
+    public IntList() {
+        this(DEF_CAPACITY);
+    }
+
+    /*
+     * @param capacity How many elements to make room for up-front.
+     */
+    public IntList(int capacity) {
+        elements = new int[capacity];
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+    public int get(int i) {
+        if (i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " is out of bounds for size " + size);
+        }
+        return elements[i];
+    }
+
+    /*
+     * Adds the value to the end of the list, growing the array if there isn't enough room for it.
+     */
+    public void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(DEF_CAPACITY, 2 * elements.length));
+        }
+        elements[size++] = value;
+    }
+
+    /*
+     * Removes every element from the list. The array is kept so it can be reused.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+
+    /*
+     * @return A human-readable string representing this class. Useful for debugging
+     */
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder(getClass().getSimpleName()).append("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(elements[i]);
+        }
+        return result.append("}").toString();
+    }
+}
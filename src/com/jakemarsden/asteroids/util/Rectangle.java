@@ -0,0 +1,78 @@
+package com.jakemarsden.asteroids.util;
+
+/**
+ * An axis-aligned rectangle with float coordinates, used by the game's model in place of Android's RectF so that the
+ * model can run on a plain JVM. The method names, and the behaviour of contains(), mirror those of RectF.
+ *
+ * @author jakemarsden
+ */
+public class Rectangle {
+
+    public float left;
+
+    public float top;
+
+    public float right;
+
+    public float bottom;
+
+
+    public Rectangle() {
+    }
+
+    public Rectangle(float left, float top, float right, float bottom) {
+        set(left, top, right, bottom);
+    }
+
+
+    public void set(float left, float top, float right, float bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    public void set(Rectangle other) {
+        set(other.left, other.top, other.right, other.bottom);
+    }
+
+    public void offset(float dx, float dy) {
+        left += dx;
+        top += dy;
+        right += dx;
+        bottom += dy;
+    }
+
+
+    public float width() {
+        return right - left;
+    }
+
+    public float height() {
+        return bottom - top;
+    }
+
+    public float centerX() {
+        return (left + right) * 0.5f;
+    }
+
+    public float centerY() {
+        return (top + bottom) * 0.5f;
+    }
+
+    /*
+     * @return True if the point lies inside this rectangle. Like RectF, the left and top edges count as inside but the
+     *          right and bottom edges don't, and an empty rectangle contains nothing.
+     */
+    public boolean contains(float x, float y) {
+        return left < right && top < bottom
+                && x >= left && x < right
+                && y >= top && y < bottom;
+    }
+
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + left + "," + top + "," + right + "," + bottom + "}";
+    }
+}
@@ -0,0 +1,40 @@
+package com.jakemarsden.asteroids.util;
+
+/**
+ * A pair of float coordinates, used by the game's model in place of Android's PointF so that the model can run on a
+ * plain JVM. The method names mirror those of PointF.
+ *
+ * @author jakemarsden
+ */
+public class Vector2 {
+
+    public float x;
+
+    public float y;
+
+
+    public Vector2() {
+    }
+
+    public Vector2(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+
+    public void set(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public void offset(float dx, float dy) {
+        x += dx;
+        y += dy;
+    }
+
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + x + "," + y + "}";
+    }
+}
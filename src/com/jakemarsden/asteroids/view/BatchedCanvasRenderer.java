@@ -0,0 +1,77 @@
+package com.jakemarsden.asteroids.view;
+
+import android.graphics.*;
+import com.jakemarsden.asteroids.render.BatchingRenderer;
+import com.jakemarsden.asteroids.util.Rectangle;
+
+/**
+ * Draws the buffers built up by a BatchingRenderer onto an android.graphics.Canvas. The triangles and the sprites are
+ * each drawn with a single call to Canvas.drawVertices(), the sprites using the sprite sheet as a texture, and the lines
+ * with a single call to Canvas.drawLines(). Set the Canvas to draw on with setCanvas() before each frame.
+ * <p/>
+ * Note that hardware-accelerated Canvases don't support drawVertices() before API 29, so this is only suitable for
+ * software Canvases, such as the one from SurfaceHolder.lockCanvas().
+ *
+ * @author jakemarsden
+ */
+public class BatchedCanvasRenderer extends BatchingRenderer {
+
+    private Canvas canvas;
+
+    private final Paint trianglePaint;
+
+    private final Paint linePaint;
+    /*
+     * Draws the sprite sheet onto the sprite triangles.
+     */
+    private final Paint spritePaint;
+
+
+    /*
+     * @param spriteSheet The image containing the sprites, side by side.
+     * @param spriteCount How many sprites there are in spriteSheet.
+     * @param destination Where each sprite should be drawn relative to its centre, when it isn't rotated.
+     */
+    public BatchedCanvasRenderer(Bitmap spriteSheet, int spriteCount, Rectangle destination) {
+        super(spriteSheet.getWidth(), spriteSheet.getHeight(), spriteCount, destination);
+
+        trianglePaint = new Paint();
+        trianglePaint.setStyle(Paint.Style.FILL);
+
+        linePaint = new Paint();
+        linePaint.setStyle(Paint.Style.STROKE);
+
+        spritePaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        spritePaint.setShader(new BitmapShader(spriteSheet, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP));
+    }
+
+
+    /*
+     * @param canvas The Canvas to draw on until this is next called.
+     */
+    public void setCanvas(Canvas canvas) {
+        this.canvas = canvas;
+    }
+
+    @Override
+    protected void clear(int colour) {
+        canvas.drawColor(colour);
+    }
+
+    @Override
+    protected void drawTriangles(float[] vertices, int[] colours, int vertexCount) {
+        // drawVertices() counts each of the x- and y-coordinates as a vertex
+        canvas.drawVertices(Canvas.VertexMode.TRIANGLES, 2 * vertexCount, vertices, 0, null, 0, colours, 0, null, 0, 0, trianglePaint);
+    }
+
+    @Override
+    protected void drawLineBatch(float[] lines, int count, int colour) {
+        linePaint.setColor(colour);
+        canvas.drawLines(lines, 0, count, linePaint);
+    }
+
+    @Override
+    protected void drawSpriteBatch(float[] vertices, float[] texCoords, int vertexCount) {
+        canvas.drawVertices(Canvas.VertexMode.TRIANGLES, 2 * vertexCount, vertices, 0, texCoords, 0, null, 0, null, 0, 0, spritePaint);
+    }
+}
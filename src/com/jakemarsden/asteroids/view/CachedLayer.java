@@ -0,0 +1,76 @@
+package com.jakemarsden.asteroids.view;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+
+/**
+ * Keeps a copy of whatever a Drawer draws in one area of the screen in an offscreen Bitmap, so that things which hardly
+ * ever change (such as the controls and the score) can be copied onto the screen with a single drawBitmap() each frame
+ * rather than being drawn from scratch. The Drawer is only used again when the version passed to draw() changes, or
+ * after invalidate() is called.
+ * <p/>
+ * The Bitmap and the Canvas used to draw into it are created up-front, so drawing a layer never allocates anything.
+ *
+ * @author jakemarsden
+ */
+public class CachedLayer<T> {
+
+    private final Drawer<T> drawer;
+    /*
+     * The area of the screen covered by the layer. Anything the Drawer draws outside of this area is lost.
+     */
+    private final Rect area = new Rect();
+
+    private final Bitmap bitmap;
+
+    private final Canvas bitmapCanvas;
+    /*
+     * The version the Bitmap was last drawn for, only meaningful if isValid is true.
+     */
+    private int version;
+
+    private boolean isValid = false;
+
+
+    /*
+     * @param drawer Used to draw the layer whenever it needs drawing again.
+     * @param area The area of the screen the layer covers.
+     */
+    public CachedLayer(Drawer<T> drawer, Rect area) {
+        if (area.width() <= 0 || area.height() <= 0) {
+            throw new IllegalArgumentException("Layer must have a positive area: " + area);
+        }
+        this.drawer = drawer;
+        this.area.set(area);
+        bitmap = Bitmap.createBitmap(area.width(), area.height(), Bitmap.Config.ARGB_8888);
+        bitmapCanvas = new Canvas(bitmap);
+        // Shift everything drawn into the Bitmap so that the Drawer can carry on using screen coordinates.
+        bitmapCanvas.translate(-area.left, -area.top);
+    }
+
+
+    /*
+     * Copies the layer onto the canvas, first drawing it again if it's out of date.
+     * @param canvas The canvas to draw on.
+     * @param object Passed to the Drawer if the layer needs drawing again.
+     * @param version Anything which changes whenever the layer would look different, such as the score for a layer
+     *          showing the score. The layer is only drawn again if this differs from the last time it was drawn.
+     */
+    public void draw(Canvas canvas, T object, int version) {
+        if (!isValid || version != this.version) {
+            bitmap.eraseColor(0x00000000);
+            drawer.draw(bitmapCanvas, object, 0);
+            this.version = version;
+            isValid = true;
+        }
+        canvas.drawBitmap(bitmap, area.left, area.top, null);
+    }
+
+    /*
+     * Makes sure the layer will be drawn again next time, whatever the version.
+     */
+    public void invalidate() {
+        isValid = false;
+    }
+}
@@ -0,0 +1,174 @@
+package com.jakemarsden.asteroids.view;
+
+import android.graphics.*;
+import com.jakemarsden.asteroids.model.PolygonShape;
+import com.jakemarsden.asteroids.render.Renderer;
+import com.jakemarsden.asteroids.util.Rectangle;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Draws straight onto an android.graphics.Canvas, with each call to the Renderer becoming one or two calls to the
+ * Canvas. Set the Canvas to draw on with setCanvas() before each frame.
+ * <p/>
+ * Normally, each sprite is drawn by rotating the Canvas to the sprite's angle and scaling the sprite into place. If
+ * given enough memory, a PlayerSpriteAtlas of every sprite drawn at a number of angles is made instead, and drawing a
+ * sprite is then a plain copy of the closest frame. The outline of each shape passed to drawPolygon() is turned into a
+ * Path the first time it's seen, and drawn from then on by moving the Canvas.
+ *
+ * @author jakemarsden
+ */
+public class CanvasRenderer implements Renderer {
+
+    /*
+     * An atlas with fewer angles than this turns too jerkily to be worth using, so the Canvas is rotated instead.
+     */
+    public static final int MIN_ATLAS_ANGLES = 16;
+    /*
+     * The most Paths to keep before throwing them all away and starting again. Comfortably more than the number of
+     * shapes in the AsteroidShapeLibrary, so this only happens if the Asteroids aren't sharing their shapes.
+     */
+    private static final int MAX_CACHED_PATHS = 256;
+
+
+    private Canvas canvas;
+
+    private final Paint strokePaint;
+
+    private final Paint fillPaint;
+
+    private final Bitmap spriteSheet;
+    /*
+     * Holds rectangles which represent the position of each sprite in the sprite sheet.
+     */
+    private final Rect[] sprites;
+    /*
+     * Where each sprite is drawn relative to its centre, when it isn't rotated.
+     */
+    private final RectF destination = new RectF();
+    /*
+     * Holds where to draw each sprite, so that a new RectF doesn't need to be created every frame.
+     */
+    private final RectF bounds = new RectF();
+    /*
+     * The pre-rotated sprites, or null if the Canvas is rotated instead.
+     */
+    private final PlayerSpriteAtlas atlas;
+    /*
+     * An outline of each shape drawn so far, centred on [0,0].
+     */
+    private final Map<PolygonShape, Path> cachedPaths = new HashMap<PolygonShape, Path>();
+
+
+    /*
+     * @param spriteSheet The image containing the sprites, side by side.
+     * @param spriteCount How many sprites there are in spriteSheet.
+     * @param destination Where each sprite should be drawn relative to its centre, when it isn't rotated.
+     * @param atlasMemoryBudget The most memory, in bytes, the PlayerSpriteAtlas may use. As many angles as fit are
+     *          drawn, up to PlayerSpriteAtlas.MAX_ANGLES. If fewer than MIN_ATLAS_ANGLES fit (such as when this is 0),
+     *          no atlas is made and the Canvas is rotated every frame instead.
+     */
+    public CanvasRenderer(Bitmap spriteSheet, int spriteCount, Rectangle destination, long atlasMemoryBudget) {
+        strokePaint = new Paint();
+        strokePaint.setStyle(Paint.Style.STROKE);
+
+        fillPaint = new Paint();
+        fillPaint.setStyle(Paint.Style.FILL);
+
+        this.spriteSheet = spriteSheet;
+        this.destination.set(destination.left, destination.top, destination.right, destination.bottom);
+
+        // Set up the sprite positions based on the size of the sprite sheet and the number of sprites we're expecting.
+        final int spriteWidth = spriteSheet.getWidth() / spriteCount,
+                spriteHeight = spriteSheet.getHeight();
+        sprites = new Rect[spriteCount];
+        for (int i = 0; i < sprites.length; i++) {
+            sprites[i] = new Rect(i * spriteWidth, 0, (i + 1) * spriteWidth, spriteHeight);
+        }
+
+        final int angleCount = PlayerSpriteAtlas.getMaxAngleCount(sprites.length, this.destination, atlasMemoryBudget);
+        atlas = angleCount >= MIN_ATLAS_ANGLES ? new PlayerSpriteAtlas(spriteSheet, sprites, this.destination, angleCount) : null;
+    }
+
+
+    /*
+     * @param canvas The Canvas to draw on until this is next called.
+     */
+    public void setCanvas(Canvas canvas) {
+        this.canvas = canvas;
+    }
+
+    @Override
+    public void beginFrame(int colour) {
+        canvas.drawColor(colour);
+    }
+
+    @Override
+    public void drawLines(float[] lines, int offset, int count, int colour) {
+        strokePaint.setColor(colour);
+        strokePaint.setStrokeWidth(0);
+        canvas.drawLines(lines, offset, count, strokePaint);
+    }
+
+    @Override
+    public void drawPolygon(PolygonShape shape, float x, float y, int colour) {
+        strokePaint.setColor(colour);
+        strokePaint.setStrokeWidth(0);
+        canvas.save();
+        canvas.translate(x, y);
+        canvas.drawPath(getPath(shape), strokePaint);
+        canvas.restore();
+    }
+
+    @Override
+    public void drawCircle(float x, float y, float radius, int fillColour, int borderColour, float borderWidth) {
+        fillPaint.setColor(fillColour);
+        canvas.drawCircle(x, y, radius, fillPaint);
+        strokePaint.setColor(borderColour);
+        strokePaint.setStrokeWidth(borderWidth);
+        canvas.drawCircle(x, y, radius, strokePaint);
+    }
+
+    @Override
+    public void drawSprite(int sprite, float centreX, float centreY, float degrees) {
+        if (atlas != null) {
+            atlas.draw(canvas, sprite, degrees, centreX, centreY);
+            return;
+        }
+
+        // canvas.save(), canvas.rotate() and canvas.restore() are used to rotate the image.
+        bounds.set(destination);
+        bounds.offset(centreX, centreY);
+        canvas.save();
+        canvas.rotate(degrees, centreX, centreY);
+        canvas.drawBitmap(spriteSheet, sprites[sprite], bounds, null);
+        canvas.restore();
+    }
+
+    @Override
+    public void endFrame() {
+        // Everything has already been drawn
+    }
+
+
+    /*
+     * @return An outline of the shape centred on [0,0], built the first time the shape is seen.
+     */
+    private Path getPath(PolygonShape shape) {
+        Path path = cachedPaths.get(shape);
+        if (path == null) {
+            if (cachedPaths.size() >= MAX_CACHED_PATHS) {
+                cachedPaths.clear();
+            }
+            path = new Path();
+            path.moveTo(shape.getX(0), shape.getY(0));
+            for (int v = 1; v < shape.getVertexCount(); v++) {
+                path.lineTo(shape.getX(v), shape.getY(v));
+            }
+            path.close();
+            cachedPaths.put(shape, path);
+        }
+        return path;
+    }
+}
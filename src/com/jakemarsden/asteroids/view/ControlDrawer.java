@@ -12,7 +12,7 @@ public class ControlDrawer implements Drawer<Control> {
 
 
     @Override
-    public void draw(Canvas canvas, Control object) {
+    public void draw(Canvas canvas, Control object, float interpolation) {
         // Some controls don't have an image, e.g. the left/right rotation controls
         if (object.bitmap != null) {
             canvas.drawBitmap(object.bitmap, null, object.position, null);
@@ -13,6 +13,8 @@ public interface Drawer<T> {
      * Draw the game object to the canvas
      * @param canvas The canvas to draw the object on
      * @param object The object to draw on the canvas
+     * @param interpolation How far the game is between its last update and its next one, in the range [0, 1). Moving
+     *          objects should be drawn this far along their current path. Objects which don't move can ignore this.
      */
-    public void draw(Canvas canvas, T object);
+    public void draw(Canvas canvas, T object, float interpolation);
 }
@@ -3,9 +3,12 @@ package com.jakemarsden.asteroids.view;
 import android.content.Context;
 import android.content.res.Resources;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
 import android.graphics.Rect;
 import android.graphics.RectF;
+import android.os.Debug;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.SurfaceHolder;
@@ -14,9 +17,13 @@ import com.jakemarsden.asteroids.InputEvent;
 import com.jakemarsden.asteroids.R;
 import com.jakemarsden.asteroids.listener.DrawListener;
 import com.jakemarsden.asteroids.listener.InputListener;
-import com.jakemarsden.asteroids.model.Asteroid;
+import com.jakemarsden.asteroids.metrics.GameMetrics;
 import com.jakemarsden.asteroids.model.GameWorld;
-import com.jakemarsden.asteroids.model.Projectile;
+import com.jakemarsden.asteroids.model.WorldSnapshot;
+import com.jakemarsden.asteroids.render.AsteroidDrawer;
+import com.jakemarsden.asteroids.render.PlayerDrawer;
+import com.jakemarsden.asteroids.render.ProjectileDrawer;
+import com.jakemarsden.asteroids.render.Renderer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -50,18 +57,41 @@ public class GameView extends SurfaceView implements DrawListener {
     private Control muteControl;
 
     /*
-     * Implementations of the Drawer interface. Each is used to draw a specific type of game object to the screen.
+     * Implementations of the SceneDrawer interface. Each is used to draw a specific type of game object in the game
+     * world, through whichever Renderer is in use.
      */
     private PlayerDrawer playerDrawer;
 
     private ProjectileDrawer projectileDrawer;
 
     private AsteroidDrawer asteroidDrawer;
-
+    /*
+     * Implementations of the Drawer interface. Each is used to draw something on top of the game world, straight onto
+     * the Canvas.
+     */
     private ScoreDrawer scoreDrawer;
 
     private ControlDrawer controlDrawer;
 
+    private MetricsDrawer metricsDrawer;
+
+    /*
+     * The controls and the score hardly ever change, so each is kept in a CachedLayer which is copied onto the screen
+     * every frame. The controls are never drawn again and the score is only drawn again when it changes. Controls
+     * without an image don't need a layer.
+     */
+    private final List<CachedLayer<Control>> controlLayers = new ArrayList<CachedLayer<Control>>();
+
+    private final List<Control> layeredControls = new ArrayList<Control>();
+
+    private CachedLayer<WorldSnapshot> scoreLayer;
+    /*
+     * Draws the game world onto the Canvas. Only one of these is set up, depending on batchedRendering.
+     */
+    private CanvasRenderer canvasRenderer;
+
+    private BatchedCanvasRenderer batchedRenderer;
+
 
     /*
      * The state of the game, which will be periodically drawn to the screen.
@@ -69,6 +99,22 @@ public class GameView extends SurfaceView implements DrawListener {
     private GameWorld gameWorld;
 
     private ControlState controlState;
+    /*
+     * If true, the GameWorld's metrics are drawn on top of the game.
+     */
+    private volatile boolean metricsOverlayVisible = false;
+    /*
+     * If true, onGameRedraw() checks that drawing a frame doesn't allocate anything. See setAllocationCheckEnabled().
+     */
+    private volatile boolean allocationCheckEnabled = false;
+    /*
+     * The most memory the Player's sprite atlas may use, in bytes. See setPlayerAtlasMemoryBudget().
+     */
+    private volatile long playerAtlasMemoryBudget = 0;
+    /*
+     * If true, the game world is drawn with a BatchedCanvasRenderer. See setBatchedRendering().
+     */
+    private volatile boolean batchedRendering = false;
 
 
     /*
@@ -160,12 +206,40 @@ public class GameView extends SurfaceView implements DrawListener {
                     }
                 };
 
+                // Set up the renderer. Load the image file res/drawable/player_sprites.png into memory. This image is
+                // a sprite sheet containing sprites for the player.
+                final Bitmap spriteSheet = BitmapFactory.decodeResource(getResources(), R.drawable.player_sprites);
+                if (batchedRendering) {
+                    batchedRenderer = new BatchedCanvasRenderer(spriteSheet, PlayerDrawer.SPRITE_COUNT, PlayerDrawer.getSpriteDestination());
+                    canvasRenderer = null;
+                } else {
+                    canvasRenderer = new CanvasRenderer(spriteSheet, PlayerDrawer.SPRITE_COUNT, PlayerDrawer.getSpriteDestination(), playerAtlasMemoryBudget);
+                    batchedRenderer = null;
+                }
+
                 // Set up the drawers
-                playerDrawer = new PlayerDrawer(getResources());
+                playerDrawer = new PlayerDrawer();
                 projectileDrawer = new ProjectileDrawer();
                 asteroidDrawer = new AsteroidDrawer();
                 scoreDrawer = new ScoreDrawer(getTop(), getRight());
                 controlDrawer = new ControlDrawer();
+                metricsDrawer = new MetricsDrawer(getLeft() + 25, getTop() + 120);
+
+                // Set up the layers, replacing any from a previous surface
+                controlLayers.clear();
+                layeredControls.clear();
+                final Control[] controls = {leftRotationControl, rightRotationControl, accelerateControl, fireControl, muteControl};
+                for (Control control : controls) {
+                    if (control.bitmap != null) {
+                        final Rect area = new Rect();
+                        control.position.roundOut(area);
+                        controlLayers.add(new CachedLayer<Control>(controlDrawer, area));
+                        layeredControls.add(control);
+                    }
+                }
+                final Rect scoreArea = new Rect();
+                scoreDrawer.getMaxArea(scoreArea);
+                scoreLayer = new CachedLayer<WorldSnapshot>(scoreDrawer, scoreArea);
             }
 
             @Override
@@ -227,6 +301,75 @@ public class GameView extends SurfaceView implements DrawListener {
         controlState = state;
     }
 
+    public boolean isMetricsOverlayVisible() {
+        return metricsOverlayVisible;
+    }
+
+    /*
+     * @param visible Whether or not the GameWorld's metrics should be drawn on top of the game. Useful for debugging.
+     */
+    public void setMetricsOverlayVisible(boolean visible) {
+        metricsOverlayVisible = visible;
+    }
+
+
+    public boolean isAllocationCheckEnabled() {
+        return allocationCheckEnabled;
+    }
+
+    /*
+     * A check for tests and debugging. Any garbage made while drawing each frame eventually has to be collected, which
+     * causes a noticeable hitch, so drawing a frame shouldn't allocate anything at all. While this check is enabled,
+     * onGameRedraw() counts the objects allocated by the drawing thread between locking and releasing the Canvas, and
+     * throws an IllegalStateException if there were any. The metrics overlay is only for debugging and builds new
+     * Strings every frame, so it's left out of the count. Counting allocations slows everything down, so this should
+     * never be enabled in a release build.
+     * @param enabled Whether or not to check each frame for allocations.
+     */
+    public void setAllocationCheckEnabled(boolean enabled) {
+        if (enabled) {
+            Debug.startAllocCounting();
+        } else {
+            Debug.stopAllocCounting();
+        }
+        allocationCheckEnabled = enabled;
+    }
+
+
+    public long getPlayerAtlasMemoryBudget() {
+        return playerAtlasMemoryBudget;
+    }
+
+    /*
+     * Lets the Player be drawn from a PlayerSpriteAtlas of pre-rotated sprites rather than by rotating the Canvas every
+     * frame, which trades memory for drawing time. Compare the drawPlayer metric with and without the atlas to see
+     * whether it's worth it on a particular device. Only takes effect when the surface is next created.
+     * The atlas isn't used while batchedRendering is enabled.
+     * @param bytes The most memory the atlas may use, see CanvasRenderer. 0 (the default) means no atlas.
+     */
+    public void setPlayerAtlasMemoryBudget(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Memory budget can't be negative: " + bytes);
+        }
+        playerAtlasMemoryBudget = bytes;
+    }
+
+
+    public boolean isBatchedRendering() {
+        return batchedRendering;
+    }
+
+    /*
+     * Chooses how the game world is drawn. Normally each object goes straight onto the Canvas with its own draw calls
+     * (see CanvasRenderer). With batched rendering, the projectiles, asteroid outlines and the Player are collected
+     * into vertex buffers and drawn with a few calls at the end of the frame instead (see BatchedCanvasRenderer). Only
+     * takes effect when the surface is next created.
+     * @param batched Whether or not to batch the game world's draw calls.
+     */
+    public void setBatchedRendering(boolean batched) {
+        batchedRendering = batched;
+    }
+
 
     /*
      * Expresses a listener's interest in receiving calls about user input.
@@ -253,43 +396,76 @@ public class GameView extends SurfaceView implements DrawListener {
 
 
     /*
-     * Redraws the entire screen from scratch. This is called periodically by a GameLoop.
+     * Redraws the entire screen from scratch, using the latest snapshot published by the GameWorld. This is called
+     * periodically by a GameLoop, possibly from a different thread to the one updating the GameWorld. How long we wait
+     * for the Canvas and how long the drawing takes are both recorded in the GameWorld's metrics.
+     * @param interpolation How far the game is between its last update and its next one, in the range [0, 1).
      */
     @Override
-    public boolean onGameRedraw() {
+    public boolean onGameRedraw(float interpolation) {
         // FIXME logging Logger.INSTANCE.v(((Object) this).getClass(), "onGameRedraw()");
         final SurfaceHolder holder = getHolder();
         // Lock the Canvas so we can draw on it. No one can draw on a SurfaceHolder's Canvas without the lock.
+        final long lockStartTime = System.nanoTime();
         final Canvas canvas = holder.lockCanvas();
+        final long drawStartTime = System.nanoTime();
+        gameWorld.metrics.record(GameMetrics.Phase.LOCK_CANVAS, drawStartTime - lockStartTime);
         if (canvas == null) {
             // FIXME logging Logger.INSTANCE.d(((Object) this).getClass(), "onGameRedraw: Aborted as the canvas is null");
             return false;
         } else {
-            canvas.drawColor(0xff000000);
+            final boolean checkAllocations = allocationCheckEnabled;
+            if (checkAllocations) {
+                Debug.resetThreadAllocCount();
+            }
 
-            for (Projectile projectile : gameWorld.projectiles) {
-                projectileDrawer.draw(canvas, projectile);
+            final WorldSnapshot snapshot = gameWorld.snapshots.acquireLatest();
+            final Renderer renderer;
+            if (batchedRenderer != null) {
+                batchedRenderer.setCanvas(canvas);
+                renderer = batchedRenderer;
+            } else {
+                canvasRenderer.setCanvas(canvas);
+                renderer = canvasRenderer;
             }
+            renderer.beginFrame(0xff000000);
+
+            projectileDrawer.draw(renderer, snapshot.projectiles, interpolation);
 
-            for (Asteroid asteroid : gameWorld.asteroids) {
-                asteroidDrawer.draw(canvas, asteroid);
+            asteroidDrawer.draw(renderer, snapshot.asteroids, interpolation);
+
+            final long playerStartTime = System.nanoTime();
+            playerDrawer.draw(renderer, snapshot, interpolation);
+            if (batchedRenderer == null) {
+                // A BatchedCanvasRenderer only buffers the Player here and draws it in endFrame(), so the time taken
+                // would only be the cost of buffering it.
+                gameWorld.metrics.record(GameMetrics.Phase.DRAW_PLAYER, System.nanoTime() - playerStartTime);
             }
 
-            playerDrawer.draw(canvas, gameWorld.player);
+            renderer.endFrame();
 
             if (controlState == ControlState.ON) {
-                controlDrawer.draw(canvas, leftRotationControl);
-                controlDrawer.draw(canvas, rightRotationControl);
-                controlDrawer.draw(canvas, accelerateControl);
-                controlDrawer.draw(canvas, fireControl);
-                controlDrawer.draw(canvas, muteControl);
+                for (int i = 0; i < controlLayers.size(); i++) {
+                    controlLayers.get(i).draw(canvas, layeredControls.get(i), 0);
+                }
             }
 
-            scoreDrawer.draw(canvas, gameWorld.score);
+            scoreLayer.draw(canvas, snapshot, snapshot.score);
+
+            final int allocations = checkAllocations ? Debug.getThreadAllocCount() : 0;
+
+            if (metricsOverlayVisible) {
+                metricsDrawer.draw(canvas, gameWorld.metrics, interpolation);
+            }
 
 
             // Release the Canvas.
             holder.unlockCanvasAndPost(canvas);
+            gameWorld.metrics.record(GameMetrics.Phase.DRAW, System.nanoTime() - drawStartTime);
+
+            if (allocations > 0) {
+                throw new IllegalStateException("Drawing a frame allocated " + allocations + " objects");
+            }
             return true;
         }
     }
@@ -0,0 +1,68 @@
+package com.jakemarsden.asteroids.view;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import com.jakemarsden.asteroids.metrics.GameMetrics;
+import com.jakemarsden.asteroids.metrics.Histogram;
+
+/**
+ * Draws a debug overlay showing the p50, p99 and p99.9 timings of each phase of updating and drawing the game, in
+ * milliseconds, along with how many game objects there are. This builds new Strings every frame, so it's only meant
+ * to be switched on while debugging.
+ *
+ * @author jakemarsden
+ */
+public class MetricsDrawer implements Drawer<GameMetrics> {
+
+    private static final float TEXT_SIZE = 20;
+
+    private static final float LINE_HEIGHT = 24;
+
+    private static final double NANOS_PER_MILLI = 1000000d;
+
+
+    private final float left;
+
+    private final float top;
+
+
+    private final Paint textPaint;
+
+
+    /*
+     * @param left Where to draw the left edge of the overlay.
+     * @param top Where to draw the top edge of the overlay.
+     */
+    public MetricsDrawer(float left, float top) {
+        this.left = left;
+        this.top = top;
+
+        textPaint = new Paint();
+        textPaint.setStyle(Paint.Style.FILL);
+        textPaint.setTextSize(TEXT_SIZE);
+        textPaint.setColor(0xff00ff00);
+    }
+
+
+    @Override
+    public void draw(Canvas canvas, GameMetrics object, float interpolation) {
+        float y = top + LINE_HEIGHT;
+        canvas.drawText("phase: p50 / p99 / p99.9 (ms)", left, y, textPaint);
+
+        for (GameMetrics.Phase phase : GameMetrics.Phase.values()) {
+            final Histogram histogram = object.getHistogram(phase);
+            y += LINE_HEIGHT;
+            canvas.drawText(String.format("%s: %.2f / %.2f / %.2f",
+                    phase.label,
+                    histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI
+            ), left, y, textPaint);
+        }
+
+        for (GameMetrics.Gauge gauge : GameMetrics.Gauge.values()) {
+            y += LINE_HEIGHT;
+            canvas.drawText(gauge.label + ": " + object.getGauge(gauge), left, y, textPaint);
+        }
+    }
+}
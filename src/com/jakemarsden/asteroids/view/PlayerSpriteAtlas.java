@@ -0,0 +1,126 @@
+package com.jakemarsden.asteroids.view;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * Every sprite from the Player's sprite sheet, drawn up-front at a fixed number of evenly spaced angles. Drawing the
+ * Player then becomes a plain, unscaled copy of the frame closest to the Player's actual angle, rather than rotating
+ * the Canvas and scaling the sprite every frame. The Player's direction snaps to the nearest angle in the atlas, so the
+ * more angles there are, the smoother the Player turns.
+ * <p/>
+ * Each frame is a square Bitmap, just large enough to hold the sprite at any angle, with the Player's centre in the
+ * middle. Each frame is kept in its own Bitmap rather than all of them in one large one, as a single Bitmap holding
+ * them all could be larger than some devices can draw.
+ *
+ * @author jakemarsden
+ */
+public class PlayerSpriteAtlas {
+
+    /*
+     * Every frame is an ARGB_8888 Bitmap.
+     */
+    private static final int BYTES_PER_PIXEL = 4;
+    /*
+     * One frame for every degree is the most that's worth having.
+     */
+    public static final int MAX_ANGLES = 360;
+
+
+    /*
+     * The frames of each sprite, indexed by [sprite][angle]. Frame i of a sprite is rotated by i * 360 / angleCount
+     * degrees.
+     */
+    private final Bitmap[][] frames;
+
+    private final int angleCount;
+    /*
+     * The width and height of each frame.
+     */
+    private final int frameSize;
+
+
+    /*
+     * @param spriteSheet The image containing each of the sprites.
+     * @param sprites Where each sprite is in spriteSheet.
+     * @param destination Where each sprite should be drawn, relative to the Player's centre, when the Player isn't
+     *          rotated.
+     * @param angleCount How many angles to draw each sprite at.
+     */
+    public PlayerSpriteAtlas(Bitmap spriteSheet, Rect[] sprites, RectF destination, int angleCount) {
+        if (angleCount <= 0 || angleCount > MAX_ANGLES) {
+            throw new IllegalArgumentException("Angle count must be in the range [1, " + MAX_ANGLES + "]: " + angleCount);
+        }
+        this.angleCount = angleCount;
+        frameSize = getFrameSize(destination);
+        final float halfSize = frameSize / 2f;
+
+        final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        frames = new Bitmap[sprites.length][angleCount];
+        for (int s = 0; s < sprites.length; s++) {
+            for (int a = 0; a < angleCount; a++) {
+                final Bitmap frame = Bitmap.createBitmap(frameSize, frameSize, Bitmap.Config.ARGB_8888);
+                final Canvas canvas = new Canvas(frame);
+                // Rotate about the Player's centre, which is in the middle of the frame.
+                canvas.translate(halfSize, halfSize);
+                canvas.rotate(360f * a / angleCount);
+                canvas.drawBitmap(spriteSheet, sprites[s], destination, paint);
+                frames[s][a] = frame;
+            }
+        }
+    }
+
+
+    /*
+     * Works out how many angles an atlas can have without using more memory than it's allowed.
+     * @param spriteCount How many sprites the atlas will hold.
+     * @param destination See PlayerSpriteAtlas(Bitmap, Rect[], RectF, int).
+     * @param memoryBudget The most memory the atlas may use, in bytes.
+     * @return How many angles will fit, no more than MAX_ANGLES. May be 0 if not even one will fit.
+     */
+    public static int getMaxAngleCount(int spriteCount, RectF destination, long memoryBudget) {
+        final int size = getFrameSize(destination);
+        final long bytesPerAngle = (long) spriteCount * size * size * BYTES_PER_PIXEL;
+        return (int) Math.min(MAX_ANGLES, memoryBudget / bytesPerAngle);
+    }
+
+    /*
+     * @return The width and height of each frame, which must fit the destination at any angle about [0,0].
+     */
+    private static int getFrameSize(RectF destination) {
+        final float maxX = Math.max(Math.abs(destination.left), Math.abs(destination.right));
+        final float maxY = Math.max(Math.abs(destination.top), Math.abs(destination.bottom));
+        return (int) Math.ceil(2 * Math.sqrt(maxX * maxX + maxY * maxY));
+    }
+
+
+    /*
+     * Draws the frame of the sprite which is closest to the requested angle.
+     * @param canvas The canvas to draw on.
+     * @param sprite The index of the sprite to draw.
+     * @param degrees How far to rotate the sprite clockwise, as in Canvas.rotate().
+     * @param centreX Where the Player's centre should be drawn.
+     * @param centreY Where the Player's centre should be drawn.
+     */
+    public void draw(Canvas canvas, int sprite, float degrees, float centreX, float centreY) {
+        int angle = Math.round(degrees * angleCount / 360f) % angleCount;
+        if (angle < 0) {
+            angle += angleCount;
+        }
+        canvas.drawBitmap(frames[sprite][angle], centreX - frameSize / 2f, centreY - frameSize / 2f, null);
+    }
+
+    public int getAngleCount() {
+        return angleCount;
+    }
+
+    /*
+     * @return How much memory the frames use, in bytes.
+     */
+    public long getByteCount() {
+        return (long) frames.length * angleCount * frameSize * frameSize * BYTES_PER_PIXEL;
+    }
+}
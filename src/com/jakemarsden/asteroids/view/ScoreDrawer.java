@@ -3,11 +3,15 @@ package com.jakemarsden.asteroids.view;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
+import com.jakemarsden.asteroids.model.WorldSnapshot;
 
 /**
+ * Draws the score from a WorldSnapshot in a box in the top-right corner of the screen. The text is kept in a char[]
+ * and only rebuilt and measured again when the score changes, so drawing it doesn't create any garbage.
+ *
  * @author jakemarsden
  */
-public class ScoreDrawer implements Drawer<Integer> {
+public class ScoreDrawer implements Drawer<WorldSnapshot> {
 
     private static final float PADDING_TOP = 15;
 
@@ -15,6 +19,12 @@ public class ScoreDrawer implements Drawer<Integer> {
 
     private static final float PADDING_TEXT = 15;
 
+    private static final String SCORE_PREFIX = "Score: ";
+    /*
+     * How far the border can reach outside of the box, as the stroke is centred on the edge of the box.
+     */
+    private static final float BORDER_OVERHANG = 2;
+
 
     private final int screenTop;
 
@@ -28,6 +38,16 @@ public class ScoreDrawer implements Drawer<Integer> {
     private final Paint textPaint;
 
     private final Rect scoreTextBounds = new Rect();
+    /*
+     * The text currently being drawn, SCORE_PREFIX followed by the digits of the score. Long enough for any int.
+     */
+    private final char[] scoreText = new char[SCORE_PREFIX.length() + 11];
+
+    private int scoreTextLength = 0;
+    /*
+     * The score which scoreText and scoreTextBounds were last worked out for.
+     */
+    private int textScore;
 
 
     public ScoreDrawer(int screenTop, int screenRight) {
@@ -47,15 +67,17 @@ public class ScoreDrawer implements Drawer<Integer> {
         textPaint.setStyle(Paint.Style.STROKE);
         textPaint.setTextSize(35);
         textPaint.setColor(0xffffffff);
+
+        SCORE_PREFIX.getChars(0, SCORE_PREFIX.length(), scoreText, 0);
+        setScore(0);
     }
 
 
     @Override
-    public void draw(Canvas canvas, Integer object) {
-        final String scoreText = "Score: " + object;
-
-        // measure the size of the text
-        textPaint.getTextBounds(scoreText, 0, scoreText.length(), scoreTextBounds);
+    public void draw(Canvas canvas, WorldSnapshot object, float interpolation) {
+        if (object.score != textScore) {
+            setScore(object.score);
+        }
 
         // where to draw the box
         final float right = screenRight - PADDING_RIGHT,
@@ -66,10 +88,62 @@ public class ScoreDrawer implements Drawer<Integer> {
         canvas.drawRect(left, top, right, bottom, fillPaint);
         canvas.drawRect(left, top, right, bottom, borderPaint);
         canvas.drawText(
-                scoreText,
+                scoreText, 0, scoreTextLength,
                 left + ((right - left) - scoreTextBounds.width()) / 2f,
                 bottom - ((bottom - top) - scoreTextBounds.height()) / 2f,
                 textPaint
         );
     }
+
+
+    /*
+     * Works out the largest area of the screen the score could ever be drawn in, whatever the score.
+     * @param result Where to store the area.
+     */
+    public void getMaxArea(Rect result) {
+        // The longest score is the most negative one, and every digit appears in the tallest.
+        final Rect textBounds = new Rect();
+        final String widest = SCORE_PREFIX + Integer.MIN_VALUE, tallest = SCORE_PREFIX + "-0123456789";
+        textPaint.getTextBounds(widest, 0, widest.length(), textBounds);
+        final int maxWidth = textBounds.width();
+        textPaint.getTextBounds(tallest, 0, tallest.length(), textBounds);
+        final int maxHeight = textBounds.height();
+
+        final float right = screenRight - PADDING_RIGHT,
+                top = screenTop + PADDING_TOP;
+        result.set(
+                (int) Math.floor(right - (maxWidth + 2f * PADDING_TEXT) - BORDER_OVERHANG),
+                (int) Math.floor(top - BORDER_OVERHANG),
+                (int) Math.ceil(right + BORDER_OVERHANG),
+                (int) Math.ceil(top + (maxHeight + 2f * PADDING_TEXT) + BORDER_OVERHANG)
+        );
+    }
+
+
+    /*
+     * Writes the score into scoreText after SCORE_PREFIX, and measures the size of the text.
+     */
+    private void setScore(int score) {
+        int length = SCORE_PREFIX.length();
+        if (score < 0) {
+            scoreText[length++] = '-';
+        }
+        // Write the digits backwards from the end of the number, then we know where the text ends.
+        final int firstDigit = length;
+        long remaining = Math.abs((long) score);
+        do {
+            scoreText[length++] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        for (int i = firstDigit, j = length - 1; i < j; i++, j--) {
+            final char temp = scoreText[i];
+            scoreText[i] = scoreText[j];
+            scoreText[j] = temp;
+        }
+        scoreTextLength = length;
+
+        // measure the size of the text
+        textPaint.getTextBounds(scoreText, 0, scoreTextLength, scoreTextBounds);
+        textScore = score;
+    }
 }